@@ -0,0 +1,44 @@
+package com.netflixoss.gateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Gateway-wide token bucket shared by all rate-limited routes. Lower priority classes must leave part of
+// the bucket for higher ones, so under overload catalog browsing is refused before order creation.
+@Component
+public class AdmissionController {
+
+    public enum Priority {
+        CRITICAL,
+        STANDARD,
+        SHEDDABLE
+    }
+
+    private final boolean enabled;
+    private final TokenBucket bucket;
+    private final int standardReserve;
+    private final int sheddableReserve;
+
+    public AdmissionController(@Value("${gateway.rate-limit.global.enabled:true}") boolean enabled,
+                               @Value("${gateway.rate-limit.global.replenish-rate:2000}") double replenishRate,
+                               @Value("${gateway.rate-limit.global.burst-capacity:4000}") int burstCapacity,
+                               @Value("${gateway.rate-limit.global.standard-reserve:0.2}") double standardReserve,
+                               @Value("${gateway.rate-limit.global.sheddable-reserve:0.5}") double sheddableReserve) {
+        this.enabled = enabled;
+        this.bucket = new TokenBucket(replenishRate, burstCapacity, System.nanoTime());
+        this.standardReserve = (int) (burstCapacity * standardReserve);
+        this.sheddableReserve = (int) (burstCapacity * sheddableReserve);
+    }
+
+    // Returns 0 when admitted, otherwise the nanoseconds until this priority would be admitted.
+    long tryAdmit(Priority priority, long nowNanos) {
+        if (!enabled) {
+            return 0;
+        }
+        return bucket.tryTake(nowNanos, switch (priority) {
+            case CRITICAL -> 0;
+            case STANDARD -> standardReserve;
+            case SHEDDABLE -> sheddableReserve;
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.netflixoss.gateway.filter;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+// Copies at most {@code limit} bytes out of the buffers streaming past; the buffers themselves are not consumed.
+class BodyPrefixCapture {
+
+    private final int limit;
+    private byte[] bytes;
+    private int length;
+    private boolean truncated;
+
+    BodyPrefixCapture(int limit) {
+        this.limit = limit;
+    }
+
+    void capture(DataBuffer buffer) {
+        int readable = buffer.readableByteCount();
+        if (readable == 0) {
+            return;
+        }
+        int remaining = limit - length;
+        if (remaining <= 0) {
+            truncated = true;
+            return;
+        }
+        if (bytes == null) {
+            bytes = new byte[Math.min(limit, Math.max(readable, 256))];
+        }
+        int toCopy = Math.min(remaining, readable);
+        ensureCapacity(length + toCopy);
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (toCopy > 0 && iterator.hasNext()) {
+                ByteBuffer view = iterator.next();
+                int chunk = Math.min(toCopy, view.remaining());
+                view.get(bytes, length, chunk);
+                length += chunk;
+                toCopy -= chunk;
+            }
+        }
+        if (readable > remaining) {
+            truncated = true;
+        }
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean truncated() {
+        return truncated;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > bytes.length) {
+            byte[] grown = new byte[Math.min(limit, Math.max(required, bytes.length * 2))];
+            System.arraycopy(bytes, 0, grown, 0, length);
+            bytes = grown;
+        }
+    }
+}
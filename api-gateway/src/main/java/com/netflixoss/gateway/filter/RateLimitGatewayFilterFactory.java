@@ -0,0 +1,197 @@
+package com.netflixoss.gateway.filter;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflixoss.gateway.filter.AdmissionController.Priority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Route filter ("RateLimit") with an in-process token bucket per client and route, followed by the
+// gateway-wide AdmissionController for the route's priority. Refused requests get 429 with Retry-After.
+@Component
+public class RateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+
+    // After the correlation filter, so refusals are logged, and ahead of the response cache.
+    private static final int ORDER = -50;
+
+    private final AdmissionController admissionController;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String clientHeader;
+    private final Set<String> trustedAddresses;
+    private final long maxClients;
+    private final Duration clientIdleTimeout;
+    private final Map<String, Cache<String, TokenBucket>> bucketsByRoute = new ConcurrentHashMap<>();
+
+    public RateLimitGatewayFilterFactory(AdmissionController admissionController,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+                                         @Value("${gateway.rate-limit.client-header:X-Client-Id}") String clientHeader,
+                                         @Value("${gateway.rate-limit.trusted-addresses:}") List<String> trustedAddresses,
+                                         @Value("${gateway.rate-limit.max-clients:100000}") long maxClients,
+                                         @Value("${gateway.rate-limit.client-idle-timeout:10m}") Duration clientIdleTimeout) {
+        super(Config.class);
+        this.admissionController = admissionController;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.clientHeader = clientHeader;
+        this.trustedAddresses = normalize(trustedAddresses);
+        this.maxClients = maxClients;
+        this.clientIdleTimeout = clientIdleTimeout;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (!enabled) {
+            return new OrderedGatewayFilter((exchange, chain) -> chain.filter(exchange), ORDER);
+        }
+        Cache<String, TokenBucket> buckets = bucketsFor(config);
+        Counter clientRefusals = refusals(config, "client");
+        Counter admissionRefusals = refusals(config, "admission");
+        Priority priority = config.getPriority();
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.get(clientKey(exchange),
+                    key -> new TokenBucket(config.getReplenishRate(), config.getBurstCapacity(), now));
+            long waitNanos = bucket.tryTake(now, 0);
+            if (waitNanos > 0) {
+                clientRefusals.increment();
+                return tooManyRequests(exchange, waitNanos);
+            }
+            waitNanos = admissionController.tryAdmit(priority, now);
+            if (waitNanos > 0) {
+                bucket.giveBack();
+                admissionRefusals.increment();
+                return tooManyRequests(exchange, waitNanos);
+            }
+            return chain.filter(exchange);
+        }, ORDER);
+    }
+
+    // Routes are rebuilt on every refresh (e.g. each discovery heartbeat), so the buckets are kept here
+    // rather than in the filter. Within a route the client key alone identifies a bucket; idle clients are
+    // dropped and simply start again with a full bucket.
+    private Cache<String, TokenBucket> bucketsFor(Config config) {
+        String key = config.getRouteId() + ":" + config.getReplenishRate() + ":" + config.getBurstCapacity();
+        return bucketsByRoute.computeIfAbsent(key, ignored -> Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(clientIdleTimeout)
+                .build());
+    }
+
+    private Counter refusals(Config config, String reason) {
+        return Counter.builder("gateway.rate.limit.refused")
+                .description("Requests refused with 429 by the gateway rate limiter")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .tag("priority", config.getPriority().name())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // Clients are keyed by remote address. The client header is chosen by the caller, so it is only honoured
+    // from a trusted address (a proxy or backend that sets it itself); anyone else could pick a fresh id per
+    // request and never run out of tokens.
+    private String clientKey(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        String address = remote == null || remote.getAddress() == null ? "unknown" : remote.getAddress().getHostAddress();
+        if (trustedAddresses.contains(address)) {
+            String client = exchange.getRequest().getHeaders().getFirst(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return "id:" + client;
+            }
+        }
+        return address;
+    }
+
+    // Written the way getHostAddress() reports them, so e.g. "::1" matches "0:0:0:0:0:0:0:1".
+    private static Set<String> normalize(List<String> addresses) {
+        Set<String> normalized = new HashSet<>();
+        for (String address : addresses) {
+            if (address.isBlank()) {
+                continue;
+            }
+            try {
+                normalized.add(InetAddress.getByName(address.strip()).getHostAddress());
+            } catch (UnknownHostException ex) {
+                throw new IllegalArgumentException("Invalid gateway.rate-limit.trusted-addresses entry: " + address, ex);
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long waitNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        return response.setComplete();
+    }
+
+    public static class Config implements HasRouteId {
+
+        private double replenishRate = 50;
+        private int burstCapacity = 100;
+        private Priority priority = Priority.STANDARD;
+        private String routeId;
+
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.netflixoss.gateway.filter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// In-memory store behind ResponseCacheGatewayFilterFactory, bounded by total body bytes and a TTL. Entries
+// are only served while StockChangeCacheInvalidator is following the stock change stream, so a change
+// never goes unnoticed for longer than it takes to reconnect.
+@Component
+public class ResponseCache {
+
+    private static final String PRODUCTS_PATH = "/api/products";
+    private static final String PRODUCT_PAGE_PATH = PRODUCTS_PATH + "/page";
+
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private final Cache<String, CachedResponse> cache;
+    // Bumped on every invalidation; a response fetched before the bump is not stored.
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean coherent;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                         @Value("${gateway.response-cache.max-size:32MB}") DataSize maxSize,
+                         @Value("${gateway.response-cache.max-entry-size:256KB}") DataSize maxEntrySize,
+                         @Value("${gateway.response-cache.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() * 2 + response.body().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gatewayResponseCache");
+        Gauge.builder("gateway.response.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of cacheable gateway reads answered from the response cache")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Approximate bytes held by the gateway response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    boolean isActive() {
+        return enabled && coherent;
+    }
+
+    long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    CachedResponse get(String key) {
+        return isActive() ? cache.getIfPresent(key) : null;
+    }
+
+    void put(String key, CachedResponse response, long generationAtRequest) {
+        if (!isActive() || generation.get() != generationAtRequest) {
+            return;
+        }
+        cache.put(key, response);
+        // An invalidation may have run between the check and the put.
+        if (generation.get() != generationAtRequest) {
+            cache.invalidate(key);
+        }
+    }
+
+    // A stock change alters the product's own entry and any list page that may contain it. Keys are gateway
+    // paths, so they are matched by suffix regardless of the route prefix.
+    void invalidateProduct(String sku) {
+        generation.incrementAndGet();
+        String productPath = PRODUCTS_PATH + "/" + sku;
+        cache.asMap().keySet().removeIf(key -> {
+            String path = pathOf(key);
+            return path.endsWith(PRODUCTS_PATH) || path.endsWith(PRODUCT_PAGE_PATH) || path.endsWith(productPath);
+        });
+    }
+
+    void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    void setCoherent(boolean coherent) {
+        if (coherent != this.coherent) {
+            invalidateAll();
+        }
+        this.coherent = coherent;
+    }
+
+    private static String pathOf(String key) {
+        int query = key.indexOf('?');
+        return query < 0 ? key : key.substring(0, query);
+    }
+
+    // correlationIdStart/End locate the original request's correlationId inside the body so each hit can
+    // carry its own; both are -1 when the body has none.
+    record CachedResponse(String contentType, String etag, byte[] body, int correlationIdStart, int correlationIdEnd) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.netflixoss.gateway.filter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflixoss.gateway.filter.ResponseCache.CachedResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Route filter ("- ResponseCache") that answers repeated GETs from ResponseCache and revalidates
+// If-None-Match against a weak ETag. Only 200 JSON responses are buffered and cached; anything else,
+// e.g. the NDJSON product export, streams through untouched.
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CORRELATION_HEADER = "X-Correlation-Id";
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    // Runs ahead of NettyWriteResponseFilter so that it writes through the caching decorator. That is also
+    // ahead of the route's path rewrites, so entries are keyed by the gateway path.
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter(this::filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !responseCache.isActive()) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        String correlationId = request.getHeaders().getFirst(CORRELATION_HEADER);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, cached, correlationId);
+        }
+
+        long generation = responseCache.generation();
+        ServerHttpResponseDecorator caching = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(getDelegate())) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    HttpHeaders headers = getDelegate().getHeaders();
+                    CachedResponse response = toCachedResponse(headers, bytes, correlationId);
+                    if (bytes.length <= responseCache.maxEntryBytes()) {
+                        responseCache.put(key, response, generation);
+                    }
+                    headers.setETag(response.etag());
+                    headers.set(CACHE_HEADER, "MISS");
+                    if (isNotModified(request, response.etag())) {
+                        return notModified(getDelegate());
+                    }
+                    headers.setContentLength(bytes.length);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(caching).build());
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String correlationId) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(CACHE_HEADER, "HIT");
+        if (isNotModified(exchange.getRequest(), cached.etag())) {
+            return notModified(response);
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentType(MediaType.parseMediaType(cached.contentType()));
+        DataBufferFactory buffers = response.bufferFactory();
+        byte[] body = cached.body();
+        if (cached.correlationIdStart() < 0 || correlationId == null) {
+            headers.setContentLength(body.length);
+            return response.writeWith(Mono.just(buffers.wrap(body)));
+        }
+        byte[] id = correlationId.getBytes(StandardCharsets.UTF_8);
+        int start = cached.correlationIdStart();
+        int end = cached.correlationIdEnd();
+        headers.setContentLength(start + id.length + body.length - end);
+        return response.writeWith(Flux.just(
+                buffers.wrap(ByteBuffer.wrap(body, 0, start)),
+                buffers.wrap(id),
+                buffers.wrap(ByteBuffer.wrap(body, end, body.length - end))));
+    }
+
+    private Mono<Void> notModified(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        return response.setComplete();
+    }
+
+    private CachedResponse toCachedResponse(HttpHeaders headers, byte[] body, String correlationId) {
+        String etag = headers.getETag() != null ? headers.getETag() : weakEtag(body);
+        int start = -1;
+        int end = -1;
+        if (correlationId != null) {
+            byte[] id = correlationId.getBytes(StandardCharsets.UTF_8);
+            byte[] marker = ("\"correlationId\":\"" + correlationId + "\"").getBytes(StandardCharsets.UTF_8);
+            int at = indexOf(body, marker);
+            if (at >= 0) {
+                end = at + marker.length - 1;
+                start = end - id.length;
+            }
+        }
+        return new CachedResponse(headers.getContentType().toString(), etag, body, start, end);
+    }
+
+    // ApiResponse bodies carry a per-request correlationId and timestamp, so only "data" identifies the
+    // representation.
+    private String weakEtag(byte[] body) {
+        byte[] identity = body;
+        try {
+            JsonNode data = objectMapper.readTree(body).get("data");
+            if (data != null) {
+                identity = objectMapper.writeValueAsBytes(data);
+            }
+        } catch (IOException ex) {
+            // not an ApiResponse; hash the whole body
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(identity) + "\"";
+    }
+
+    private boolean isCacheable(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        return response.getStatusCode() != null && response.getStatusCode().value() == HttpStatus.OK.value()
+                && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+    // Weak comparison, as If-None-Match requires.
+    private boolean isNotModified(ServerHttpRequest request, String etag) {
+        String current = stripWeak(etag);
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return request.getURI().getRawPath() + (query == null ? "" : "?" + query);
+    }
+
+    private static int indexOf(byte[] body, byte[] marker) {
+        outer:
+        for (int i = 0; i <= body.length - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (body[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    public static class Config {
+    }
+}
@@ -0,0 +1,97 @@
+package com.netflixoss.gateway.filter;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+// Follows product-stock-service's /api/stock/changes stream and drops the cached responses of each SKU
+// that changes. ResponseCache serves nothing while the stream is down and starts empty on every reconnect,
+// which covers changes missed in between.
+@Component
+public class StockChangeCacheInvalidator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StockChangeCacheInvalidator.class);
+    private static final ParameterizedTypeReference<ServerSentEvent<JsonNode>> EVENT_TYPE = new ParameterizedTypeReference<>() {
+    };
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ResponseCache responseCache;
+    private final WebClient webClient;
+    private final boolean enabled;
+    private volatile Disposable subscription;
+
+    public StockChangeCacheInvalidator(ResponseCache responseCache,
+                                       WebClient.Builder webClientBuilder,
+                                       ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                       @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                                       @Value("${gateway.response-cache.stock-service-id:product-stock-service}") String serviceId) {
+        this.responseCache = responseCache;
+        this.webClient = webClientBuilder.filter(loadBalancerFunction).baseUrl("http://" + serviceId).build();
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = Flux.defer(this::follow)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(MAX_BACKOFF)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.debug("Stock change stream unavailable: {}", signal.failure().getMessage())))
+                .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+                .subscribe(this::apply);
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        subscription = null;
+        if (current != null) {
+            current.dispose();
+        }
+        responseCache.setCoherent(false);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+
+    private Flux<ServerSentEvent<JsonNode>> follow() {
+        return webClient.get()
+                .uri("/api/stock/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchangeToFlux(response -> {
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.<ServerSentEvent<JsonNode>>createError().flux();
+                    }
+                    responseCache.setCoherent(true);
+                    return response.bodyToFlux(EVENT_TYPE);
+                })
+                .doFinally(signal -> responseCache.setCoherent(false));
+    }
+
+    private void apply(ServerSentEvent<JsonNode> event) {
+        JsonNode change = event.data();
+        if (change != null && change.hasNonNull("sku")) {
+            responseCache.invalidateProduct(change.get("sku").asText());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.netflixoss.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket held as a single theoretical arrival time (GCRA): taking a token is one CAS and an idle
+// bucket refills without any bookkeeping.
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, capacity);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Takes a token, leaving at least reservedTokens in the bucket. Returns 0 on success, otherwise the
+    // nanoseconds until the token would be available.
+    public long tryTake(long nowNanos, int reservedTokens) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long allowedAt = next - burstNanos + reservedTokens * intervalNanos;
+            if (nowNanos < allowedAt) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Returns a token taken for a request that was then refused elsewhere.
+    public void giveBack() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+}
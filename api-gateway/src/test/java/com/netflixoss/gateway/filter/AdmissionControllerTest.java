@@ -0,0 +1,51 @@
+package com.netflixoss.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.netflixoss.gateway.filter.AdmissionController.Priority;
+
+// A burst of 10 with 20% kept back from STANDARD and 50% from SHEDDABLE. The refill (one token per 1000s)
+// is too slow to matter while the test runs.
+class AdmissionControllerTest {
+
+    private final AdmissionController admission = new AdmissionController(true, 0.001, 10, 0.2, 0.5);
+
+    @Test
+    void lowerPrioritiesLeaveTheirReserveForHigherOnes() {
+        long now = System.nanoTime();
+
+        assertThat(admitted(Priority.SHEDDABLE, now)).isEqualTo(5);
+        assertThat(admitted(Priority.STANDARD, now)).isEqualTo(3);
+        assertThat(admitted(Priority.CRITICAL, now)).isEqualTo(2);
+        assertThat(admission.tryAdmit(Priority.SHEDDABLE, now)).isPositive();
+    }
+
+    @Test
+    void criticalIsAdmittedWhileSheddableIsRefused() {
+        long now = System.nanoTime();
+        admitted(Priority.SHEDDABLE, now);
+
+        assertThat(admission.tryAdmit(Priority.SHEDDABLE, now)).isPositive();
+        assertThat(admission.tryAdmit(Priority.CRITICAL, now)).isZero();
+    }
+
+    @Test
+    void disabledControllerAdmitsEverything() {
+        AdmissionController disabled = new AdmissionController(false, 0.001, 1, 0.2, 0.5);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(disabled.tryAdmit(Priority.SHEDDABLE, now)).isZero();
+        }
+    }
+
+    private int admitted(Priority priority, long now) {
+        int admitted = 0;
+        while (admission.tryAdmit(priority, now) == 0) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,93 @@
+package com.netflixoss.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.netflixoss.gateway.filter.AdmissionController.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Rates are low enough that no token is refilled while a test runs.
+class RateLimitGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    @Test
+    void retryAfterRoundsTheWaitUpToWholeSeconds() {
+        assertThat(retryAfterOnceDrained(0.5)).isEqualTo("2");
+        assertThat(retryAfterOnceDrained(0.4)).isEqualTo("3");
+        assertThat(retryAfterOnceDrained(1)).isEqualTo("1");
+    }
+
+    @Test
+    void admissionRefusalGivesTheClientTokenBack() {
+        AdmissionController admission = new AdmissionController(true, 0.001, 1, 0, 0);
+        GatewayFilter filter = filter(admission, 0.001, 2);
+
+        assertThat(send(filter, "10.0.0.1").getStatusCode()).isNull();
+        assertThat(send(filter, "10.0.0.1").getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(send(filter, "10.0.0.1").getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // With the client's second token taken and kept, the third request would be refused as "client".
+        assertThat(forwarded).hasValue(1);
+        assertThat(refusals("client")).isZero();
+        assertThat(refusals("admission")).isEqualTo(2);
+    }
+
+    @Test
+    void clientsAreLimitedSeparately() {
+        GatewayFilter filter = filter(new AdmissionController(false, 1, 1, 0, 0), 0.001, 1);
+
+        assertThat(send(filter, "10.0.0.1").getStatusCode()).isNull();
+        assertThat(send(filter, "10.0.0.1").getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(send(filter, "10.0.0.2").getStatusCode()).isNull();
+        assertThat(refusals("client")).isEqualTo(1);
+    }
+
+    private String retryAfterOnceDrained(double replenishRate) {
+        GatewayFilter filter = filter(new AdmissionController(false, 1, 1, 0, 0), replenishRate, 1);
+        send(filter, "10.0.0.1");
+        MockServerHttpResponse response = send(filter, "10.0.0.1");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        return response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+    }
+
+    private GatewayFilter filter(AdmissionController admission, double replenishRate, int burstCapacity) {
+        RateLimitGatewayFilterFactory factory = new RateLimitGatewayFilterFactory(admission, meterRegistry, true,
+                "X-Client-Id", List.of(), 1000, Duration.ofMinutes(10));
+        RateLimitGatewayFilterFactory.Config config = new RateLimitGatewayFilterFactory.Config();
+        config.setRouteId("route-" + replenishRate);
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        config.setPriority(Priority.CRITICAL);
+        return factory.apply(config);
+    }
+
+    private MockServerHttpResponse send(GatewayFilter filter, String address) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/orders")
+                .remoteAddress(new InetSocketAddress(address, 40000)));
+        filter.filter(exchange, forwardedExchange -> {
+            forwarded.incrementAndGet();
+            return Mono.empty();
+        }).block();
+        return exchange.getResponse();
+    }
+
+    private double refusals(String reason) {
+        return meterRegistry.get("gateway.rate.limit.refused").tag("reason", reason).counter().count();
+    }
+}
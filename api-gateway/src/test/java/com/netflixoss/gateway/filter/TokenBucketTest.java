@@ -0,0 +1,78 @@
+package com.netflixoss.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// Times are explicit nanosecond values, so the refill arithmetic is exact: 10 tokens/s is one token per 100ms.
+class TokenBucketTest {
+
+    private static final long T0 = TimeUnit.HOURS.toNanos(1);
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void fullBucketAllowsItsCapacityThenReportsTheWaitForTheNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 3, T0);
+
+        assertThat(bucket.tryTake(T0, 0)).isZero();
+        assertThat(bucket.tryTake(T0, 0)).isZero();
+        assertThat(bucket.tryTake(T0, 0)).isZero();
+        assertThat(bucket.tryTake(T0, 0)).isEqualTo(100 * MS);
+        assertThat(bucket.tryTake(T0 + 40 * MS, 0)).isEqualTo(60 * MS);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = drained(new TokenBucket(10, 3, T0));
+
+        // 250ms refill two and a half tokens.
+        assertThat(bucket.tryTake(T0 + 250 * MS, 0)).isZero();
+        assertThat(bucket.tryTake(T0 + 250 * MS, 0)).isZero();
+        assertThat(bucket.tryTake(T0 + 250 * MS, 0)).isEqualTo(50 * MS);
+    }
+
+    @Test
+    void idleBucketRefillsOnlyToItsCapacity() {
+        TokenBucket bucket = drained(new TokenBucket(10, 3, T0));
+        long later = T0 + TimeUnit.MINUTES.toNanos(5);
+
+        assertThat(bucket.tryTake(later, 0)).isZero();
+        assertThat(bucket.tryTake(later, 0)).isZero();
+        assertThat(bucket.tryTake(later, 0)).isZero();
+        assertThat(bucket.tryTake(later, 0)).isEqualTo(100 * MS);
+    }
+
+    @Test
+    void reservedTokensAreLeftInTheBucket() {
+        TokenBucket bucket = new TokenBucket(10, 10, T0);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(bucket.tryTake(T0, 4)).isZero();
+        }
+        // Taking a seventh would leave fewer than 4; it waits for one refill.
+        assertThat(bucket.tryTake(T0, 4)).isEqualTo(100 * MS);
+        for (int i = 0; i < 4; i++) {
+            assertThat(bucket.tryTake(T0, 0)).isZero();
+        }
+        assertThat(bucket.tryTake(T0, 0)).isEqualTo(100 * MS);
+    }
+
+    @Test
+    void givenBackTokenCanBeTakenAgain() {
+        TokenBucket bucket = drained(new TokenBucket(10, 3, T0));
+
+        bucket.giveBack();
+
+        assertThat(bucket.tryTake(T0, 0)).isZero();
+        assertThat(bucket.tryTake(T0, 0)).isEqualTo(100 * MS);
+    }
+
+    private static TokenBucket drained(TokenBucket bucket) {
+        while (bucket.tryTake(T0, 0) == 0) {
+            // Take every token the bucket starts with.
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,72 @@
+package com.netflixoss.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.netflixoss.shop.dto.ApiResponse;
+import com.netflixoss.shop.dto.OrderLineResponse;
+import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.stock.dto.ProductPageResponse;
+import com.netflixoss.stock.dto.ProductResponse;
+
+// Serializing the response envelope the way the controllers' message converter does, for a typical order
+// and for a full page of products.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private static final String CORRELATION_ID = "6f1c2a4e-0b8d-4c3e-9a57-2f6d1e9b7c10";
+
+    // Matches Spring Boot's auto-configured mapper: ISO-8601 timestamps rather than numbers.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ApiResponse<OrderResponse> order = new ApiResponse<>(true, order(), null, CORRELATION_ID, Instant.now());
+    private final com.netflixoss.stock.dto.ApiResponse<ProductPageResponse> productPage =
+            new com.netflixoss.stock.dto.ApiResponse<>(true, productPage(), null, CORRELATION_ID, Instant.now());
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeProductPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+
+    private static OrderResponse order() {
+        List<OrderLineResponse> lines = List.of(new OrderLineResponse("SKU-1001", 2), new OrderLineResponse("SKU-1002", 1),
+                new OrderLineResponse("SKU-1003", 4));
+        return new OrderResponse(42L, 1L, null, null, "CONFIRMED", "2026-01-01T12:00:00Z", lines);
+    }
+
+    private static ProductPageResponse productPage() {
+        List<ProductResponse> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new ProductResponse("SKU-" + (1000 + i), "Product " + i, 10 + i, new BigDecimal("3.99")));
+        }
+        return new ProductPageResponse(items, "SKU-1099");
+    }
+}
@@ -0,0 +1,129 @@
+package com.netflixoss.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.netflixoss.shop.ShopManagementApplication;
+import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.dto.OrderLineRequest;
+import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.shop.entity.ShopEntity;
+import com.netflixoss.shop.integration.StockBatchReserveResult;
+import com.netflixoss.shop.integration.StockReservationGateway;
+import com.netflixoss.shop.integration.StockReserveRequest;
+import com.netflixoss.shop.integration.StockReserveResult;
+import com.netflixoss.shop.repository.ShopRepository;
+import com.netflixoss.shop.service.OrderService;
+
+// The whole order path (idempotency record, PENDING insert, reserve, hold confirmation, CONFIRMED update)
+// with product-stock-service replaced by a gateway that always succeeds, so only local work is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "5"})
+    public int lineCount;
+
+    private final AtomicLong orders = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Long shopId;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShopManagementApplication.class, StubStockConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=shop-benchmark");
+        orderService = context.getBean(OrderService.class);
+
+        ShopEntity shop = new ShopEntity();
+        shop.setId(1L);
+        shop.setName("Benchmark shop");
+        shopId = context.getBean(ShopRepository.class).save(shop).getId();
+
+        List<OrderLineRequest> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLineRequest("BENCH-" + i, 1));
+        }
+        request = new CreateOrderRequest(lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(shopId, request, "bench-" + orders.incrementAndGet()).join();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class StubStockConfig {
+
+        // Same bean name as the scanned gateway, so it replaces it (shop-benchmark.yml allows the override).
+        @Bean
+        StockReservationGateway stockReservationGateway() {
+            return new StubStockReservationGateway();
+        }
+    }
+
+    static class StubStockReservationGateway extends StockReservationGateway {
+
+        StubStockReservationGateway() {
+            super(null, null);
+        }
+
+        @Override
+        public StockReserveResult reserve(String sku, Integer quantity, String reservationKey) {
+            return new StockReserveResult(true, 1000, "Stock reserved");
+        }
+
+        @Override
+        public StockBatchReserveResult reserveAll(List<StockReserveRequest> items, String reservationKey) {
+            List<StockReserveResult> results = new ArrayList<>(items.size());
+            for (StockReserveRequest ignored : items) {
+                results.add(new StockReserveResult(true, 1000, "Stock reserved"));
+            }
+            return new StockBatchReserveResult(true, results, "Stock reserved");
+        }
+
+        @Override
+        public boolean confirm(String reservationKey) {
+            return true;
+        }
+
+        @Override
+        public boolean release(String reservationKey) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.netflixoss.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.netflixoss.stock.ProductStockApplication;
+import com.netflixoss.stock.dto.ProductResponse;
+import com.netflixoss.stock.entity.ProductEntity;
+import com.netflixoss.stock.repository.ProductRepository;
+import com.netflixoss.stock.service.ProductStockService;
+
+// Product reads by SKU from 8 threads, sampled so the JSON results carry p50/p99/p99.9. `cached` goes through
+// getProductBySku and ProductCache (the 2s stock-level TTL still sends some reads to H2); `uncached` is the
+// lookup getProductBySku did before the cache: findBySku and a mapping, every time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class ProductReadBenchmark {
+
+    @Param({"100", "5000"})
+    public int skuCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductStockService productStockService;
+    private ProductRepository productRepository;
+    private String[] skus;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ProductStockApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=stock-benchmark");
+        productStockService = context.getBean(ProductStockService.class);
+        productRepository = context.getBean(ProductRepository.class);
+
+        skus = new String[skuCount];
+        for (int i = 0; i < skuCount; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setSku("BENCH-READ-" + i);
+            product.setName("Benchmark product " + i);
+            product.setAvailableQuantity(1000);
+            product.setPrice(BigDecimal.ONE);
+            productRepository.save(product);
+            skus[i] = product.getSku();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse cached() {
+        return productStockService.getProductBySku(randomSku());
+    }
+
+    @Benchmark
+    public ProductResponse uncached() {
+        ProductEntity product = productRepository.findBySku(randomSku()).orElseThrow();
+        return new ProductResponse(product.getSku(), product.getName(), product.getAvailableQuantity(), product.getPrice());
+    }
+
+    private String randomSku() {
+        return skus[ThreadLocalRandom.current().nextInt(skuCount)];
+    }
+}
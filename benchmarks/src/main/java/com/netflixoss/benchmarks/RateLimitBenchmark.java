@@ -0,0 +1,119 @@
+package com.netflixoss.benchmarks;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.netflixoss.gateway.filter.AdmissionController;
+import com.netflixoss.gateway.filter.AdmissionController.Priority;
+import com.netflixoss.gateway.filter.RateLimitGatewayFilterFactory;
+import com.netflixoss.gateway.filter.TokenBucket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// The gateway's rate limiting from 8 threads at once, against a target of 50k requests/s through the
+// gateway. `tokenBucket` takes from one shared bucket: at 50000 tokens/s most takes are refused once it is
+// drained, and at 1e9/s every take succeeds, so each call contends on the CAS. `rateLimitFilter` runs the
+// RateLimit filter, including the global admission check, for one client (one hot bucket) or for 1000
+// client addresses. Its limits are too high to refuse, so every request is forwarded. Scores are totals
+// over all threads, to compare with the 50k target.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    private static final GatewayFilterChain FORWARD = exchange -> Mono.empty();
+
+    @Benchmark
+    public long tokenBucket(SharedBucket shared) {
+        return shared.bucket.tryTake(System.nanoTime(), 0);
+    }
+
+    @Benchmark
+    public Void rateLimitFilter(SharedFilter shared, ClientExchanges exchanges) {
+        return shared.filter.filter(exchanges.next(), FORWARD).block();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedBucket {
+
+        @Param({"50000", "1000000000"})
+        public double tokensPerSecond;
+
+        private TokenBucket bucket;
+
+        @Setup
+        public void setUp() {
+            // A burst of one second's tokens, as the gateway's routes are configured.
+            bucket = new TokenBucket(tokensPerSecond, (int) Math.min(Integer.MAX_VALUE, tokensPerSecond), System.nanoTime());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedFilter {
+
+        private GatewayFilter filter;
+
+        @Setup
+        public void setUp() {
+            // 10s of burst, so a thread descheduled between reading the clock and taking a token is not refused.
+            AdmissionController admission = new AdmissionController(true, 1e7, 100_000_000, 0.2, 0.5);
+            RateLimitGatewayFilterFactory factory = new RateLimitGatewayFilterFactory(admission, new SimpleMeterRegistry(),
+                    true, "X-Client-Id", List.of(), 100_000, Duration.ofMinutes(10));
+            RateLimitGatewayFilterFactory.Config config = new RateLimitGatewayFilterFactory.Config();
+            config.setRouteId("shop-rest");
+            config.setReplenishRate(1e7);
+            config.setBurstCapacity(100_000_000);
+            config.setPriority(Priority.STANDARD);
+            filter = factory.apply(config);
+        }
+    }
+
+    // Each thread cycles through its own exchanges for the same `clients` addresses, so threads share buckets.
+    @State(Scope.Thread)
+    public static class ClientExchanges {
+
+        @Param({"1", "1000"})
+        public int clients;
+
+        private MockServerWebExchange[] exchanges;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            exchanges = new MockServerWebExchange[clients];
+            for (int i = 0; i < clients; i++) {
+                exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.post("/shop/api/shops/1/orders")
+                        .remoteAddress(new InetSocketAddress("10.0." + (i / 256) + "." + (i % 256), 40000)));
+            }
+        }
+
+        MockServerWebExchange next() {
+            MockServerWebExchange exchange = exchanges[next];
+            next = next + 1 == exchanges.length ? 0 : next + 1;
+            return exchange;
+        }
+    }
+}
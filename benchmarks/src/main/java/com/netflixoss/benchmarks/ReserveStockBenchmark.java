@@ -0,0 +1,82 @@
+package com.netflixoss.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.netflixoss.stock.ProductStockApplication;
+import com.netflixoss.stock.dto.ReserveStockRequest;
+import com.netflixoss.stock.dto.ReserveStockResponse;
+import com.netflixoss.stock.entity.ProductEntity;
+import com.netflixoss.stock.repository.ProductRepository;
+import com.netflixoss.stock.service.ProductStockService;
+
+// Single-SKU reservations from 8 threads against the real service and an in-memory H2 database.
+// skuCount=1 puts every thread on the same row lock; 16 spreads them out.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class ReserveStockBenchmark {
+
+    @Param({"1", "16"})
+    public int skuCount;
+
+    private final AtomicLong reservations = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ProductStockService productStockService;
+    private String[] skus;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ProductStockApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=stock-benchmark");
+        productStockService = context.getBean(ProductStockService.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        skus = new String[skuCount];
+        for (int i = 0; i < skuCount; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setSku("BENCH-" + i);
+            product.setName("Benchmark product " + i);
+            product.setAvailableQuantity(Integer.MAX_VALUE);
+            product.setPrice(BigDecimal.ONE);
+            productRepository.save(product);
+            skus[i] = product.getSku();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReserveStockResponse reserveStock() {
+        long reservation = reservations.incrementAndGet();
+        return productStockService.reserveStock(new ReserveStockRequest(skus[(int) (reservation % skuCount)], 1),
+                "bench-" + reservation);
+    }
+}
@@ -0,0 +1,102 @@
+package com.netflixoss.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.ws.soap.server.SoapMessageDispatcher;
+
+import com.netflixoss.stock.ProductStockApplication;
+import com.netflixoss.stock.entity.ProductEntity;
+import com.netflixoss.stock.repository.ProductRepository;
+import com.netflixoss.stock.soap.SoapLoggingInterceptor;
+
+// GetStockLevel through the Spring-WS dispatcher (interceptors, JAXB, StockEndpoint) without the servlet
+// layer. logLevel=INFO renders the request and response payloads into a log file; WARN skips them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class SoapEndpointBenchmark {
+
+    private static final String SKU = "BENCH-SOAP";
+    private static final byte[] REQUEST = ("""
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/">
+              <soapenv:Body>
+                <ns:GetStockLevelRequest xmlns:ns="http://netflixoss.com/stock/soap">
+                  <sku>%s</sku>
+                </ns:GetStockLevelRequest>
+              </soapenv:Body>
+            </soapenv:Envelope>""").formatted(SKU).getBytes(StandardCharsets.UTF_8);
+
+    @Param({"INFO", "WARN"})
+    public String logLevel;
+
+    private ConfigurableApplicationContext context;
+    private SaajSoapMessageFactory messageFactory;
+    private SoapMessageDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        // Payload lines go to a file; printing them would measure the console instead.
+        context = new SpringApplicationBuilder(ProductStockApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=stock-benchmark",
+                        "--logging.file.name=target/soap-endpoint-benchmark.log",
+                        "--logging.pattern.console=");
+        LoggingSystem.get(getClass().getClassLoader())
+                .setLogLevel(SoapLoggingInterceptor.class.getName(), LogLevel.valueOf(logLevel));
+
+        ProductEntity product = new ProductEntity();
+        product.setSku(SKU);
+        product.setName("Benchmark product");
+        product.setAvailableQuantity(1000);
+        product.setPrice(BigDecimal.ONE);
+        context.getBean(ProductRepository.class).save(product);
+
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        dispatcher = new SoapMessageDispatcher();
+        dispatcher.setApplicationContext(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public WebServiceMessage getStockLevel() throws Exception {
+        MessageContext messageContext = new DefaultMessageContext(
+                messageFactory.createWebServiceMessage(new ByteArrayInputStream(REQUEST)), messageFactory);
+        dispatcher.receive(messageContext);
+        return messageContext.getResponse();
+    }
+}
@@ -0,0 +1,66 @@
+package com.netflixoss.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.stream.StreamResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.netflixoss.stock.soap.GetStockLevelResponse;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+// Marshalling the GetStockLevel payload. Spring-WS creates a Marshaller for every message from a cached
+// JAXBContext; the second case shows what reusing one per thread would save.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoapMarshallingBenchmark {
+
+    private JAXBContext jaxbContext;
+    private Marshaller threadMarshaller;
+    private GetStockLevelResponse response;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        jaxbContext = JAXBContext.newInstance(GetStockLevelResponse.class);
+        threadMarshaller = jaxbContext.createMarshaller();
+        threadMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        response = new GetStockLevelResponse();
+        response.setFound(true);
+        response.setQuantity(120);
+    }
+
+    @Benchmark
+    public byte[] marshalWithNewMarshaller() throws JAXBException {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        return marshal(marshaller);
+    }
+
+    @Benchmark
+    public byte[] marshalWithThreadMarshaller() throws JAXBException {
+        return marshal(threadMarshaller);
+    }
+
+    private byte[] marshal(Marshaller marshaller) throws JAXBException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        marshaller.marshal(response, new StreamResult(out));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,152 @@
+package com.netflixoss.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.netflixoss.shop.ShopManagementApplication;
+import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.dto.OrderLineRequest;
+import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.shop.entity.ShopEntity;
+import com.netflixoss.shop.integration.StockBulkReserveItem;
+import com.netflixoss.shop.integration.StockReservationGateway;
+import com.netflixoss.shop.integration.StockReserveResult;
+import com.netflixoss.shop.repository.ShopRepository;
+import com.netflixoss.shop.service.OrderService;
+
+// Single-line orders from 32 threads with shop.stock-coalescing.enabled off and on. Every stock call costs a
+// fixed `roundTripMicros`, as a remote call would, so the comparison shows what grouping reservations saves
+// against what the coalescing window adds. The stock calls per order are printed at the end of each trial.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+public class StockCoalescingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    @Param({"1000"})
+    public long roundTripMicros;
+
+    private final AtomicLong orders = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private LatencyStockReservationGateway gateway;
+    private Long shopId;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShopManagementApplication.class, LatencyStockConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=shop-benchmark",
+                        "--shop.stock-coalescing.enabled=" + coalescing,
+                        "--benchmark.stock-round-trip-micros=" + roundTripMicros);
+        orderService = context.getBean(OrderService.class);
+        gateway = (LatencyStockReservationGateway) context.getBean(StockReservationGateway.class);
+
+        ShopEntity shop = new ShopEntity();
+        shop.setId(1L);
+        shop.setName("Benchmark shop");
+        shopId = context.getBean(ShopRepository.class).save(shop).getId();
+        request = new CreateOrderRequest(List.of(new OrderLineRequest("BENCH-0", 1)));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        System.out.printf("%ncoalescing=%s: %d orders, %.2f reserve calls per order%n", coalescing, orders.get(),
+                (double) gateway.reserveCalls() / Math.max(1, orders.get()));
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(shopId, request, "bench-" + orders.incrementAndGet()).join();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class LatencyStockConfig {
+
+        // Same bean name as the scanned gateway, so it replaces it (shop-benchmark.yml allows the override).
+        @Bean
+        StockReservationGateway stockReservationGateway(
+                @Value("${benchmark.stock-round-trip-micros}") long roundTripMicros) {
+            return new LatencyStockReservationGateway(roundTripMicros);
+        }
+    }
+
+    static class LatencyStockReservationGateway extends StockReservationGateway {
+
+        private final long roundTripNanos;
+        private final AtomicLong reserveCalls = new AtomicLong();
+
+        LatencyStockReservationGateway(long roundTripMicros) {
+            super(null, null);
+            this.roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        }
+
+        @Override
+        public StockReserveResult reserve(String sku, Integer quantity, String reservationKey) {
+            call();
+            return new StockReserveResult(true, 1000, "Stock reserved");
+        }
+
+        @Override
+        public List<StockReserveResult> reserveEach(List<StockBulkReserveItem> items) {
+            call();
+            List<StockReserveResult> results = new ArrayList<>(items.size());
+            for (StockBulkReserveItem ignored : items) {
+                results.add(new StockReserveResult(true, 1000, "Stock reserved"));
+            }
+            return results;
+        }
+
+        @Override
+        public boolean confirm(String reservationKey) {
+            return true;
+        }
+
+        @Override
+        public boolean release(String reservationKey) {
+            return true;
+        }
+
+        // Read through a method: the bean is a circuit-breaker proxy, whose own fields are never set.
+        public long reserveCalls() {
+            return reserveCalls.get();
+        }
+
+        private void call() {
+            reserveCalls.incrementAndGet();
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.netflixoss.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Closed-model load: each of `concurrency` users sends its next request as soon as the previous one has
+// answered, so that many requests are always in flight. Latency is measured from the send. A stalled service
+// slows the users down instead of queueing requests behind it, so read the latencies together with the
+// throughput; the open model (--rate) is the one without coordinated omission.
+final class ClosedLoadDriver {
+
+    private final HttpClient httpClient;
+    private final Executor responseExecutor;
+    private final Workload workload;
+    private final LatencyReport report;
+    private final OperationMix mix;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    ClosedLoadDriver(HttpClient httpClient, Executor responseExecutor, Workload workload, LatencyReport report,
+                     Map<Operation, Integer> mix, long seed) {
+        this.httpClient = httpClient;
+        this.responseExecutor = responseExecutor;
+        this.workload = workload;
+        this.report = report;
+        this.mix = new OperationMix(mix, seed);
+    }
+
+    // Keeps `concurrency` requests in flight until endNanos; only requests sent at or after measureFromNanos
+    // are recorded. Returns the number of requests sent.
+    long run(int concurrency, long startNanos, long measureFromNanos, long endNanos) {
+        parkUntil(startNanos);
+        for (int user = 0; user < concurrency; user++) {
+            sendNext(measureFromNanos, endNanos);
+        }
+        parkUntil(endNanos);
+        return sequence.get();
+    }
+
+    long inFlight() {
+        return inFlight.get();
+    }
+
+    // The next request is sent from the response executor, not from inside the completed future, so a
+    // request that fails at once does not recurse on the caller's stack.
+    private void sendNext(long measureFromNanos, long endNanos) {
+        long sentAt = System.nanoTime();
+        if (sentAt >= endNanos) {
+            return;
+        }
+        Operation operation = mix.next();
+        HttpRequest request = workload.request(operation, sequence.getAndIncrement());
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenCompleteAsync((response, failure) -> {
+            long latency = System.nanoTime() - sentAt;
+            Workload.Outcome outcome = failure != null ? Workload.Outcome.IO_ERROR : workload.outcome(operation, response);
+            if (sentAt >= measureFromNanos) {
+                report.record(operation, latency, outcome);
+            }
+            inFlight.decrementAndGet();
+            sendNext(measureFromNanos, endNanos);
+        }, responseExecutor);
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long wait;
+        while ((wait = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.netflixoss.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Per-operation latency histograms in microseconds. Response threads record into a Recorder; only the
+// reporting thread reads interval histograms and folds them into the run totals.
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, RouteStats> routes = new EnumMap<>(Operation.class);
+
+    LatencyReport(Iterable<Operation> operations) {
+        for (Operation operation : operations) {
+            routes.put(operation, new RouteStats());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, Workload.Outcome outcome) {
+        RouteStats stats = routes.get(operation);
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        stats.outcomes.get(outcome).increment();
+    }
+
+    // Called from the reporting thread only.
+    void printInterval(PrintStream out, double elapsedSeconds, double intervalSeconds) {
+        StringBuilder line = new StringBuilder(String.format("[%6.1fs]", elapsedSeconds));
+        for (Map.Entry<Operation, RouteStats> entry : routes.entrySet()) {
+            Histogram interval = entry.getValue().roll();
+            line.append(String.format("  %s %.0f/s p99=%.1fms", entry.getKey().label(),
+                    interval.getTotalCount() / intervalSeconds, interval.getValueAtPercentile(99) / 1000.0));
+        }
+        out.println(line);
+    }
+
+    void printSummary(PrintStream out) {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        out.printf("%-22s %8s %7s %6s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n", "operation", "count", "ok%", "4xx", "429",
+                "5xx", "fail", "io", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, RouteStats> entry : routes.entrySet()) {
+            RouteStats stats = entry.getValue();
+            stats.roll();
+            all.add(stats.total);
+            printRow(out, entry.getKey().label(), stats.total, stats);
+        }
+        printRow(out, "all", all, null);
+    }
+
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, RouteStats> entry : routes.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().label() + ".hgrm")))) {
+                // Values are recorded in microseconds; the distribution is written in milliseconds.
+                entry.getValue().total.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, RouteStats stats) {
+        long count = histogram.getTotalCount();
+        out.printf("%-22s %8d %7s %6s %6s %6s %6s %6s %9.1f %9.1f %9.1f %9.1f %9.1f%n", label, count,
+                stats == null || count == 0 ? "" : String.format("%.1f", 100.0 * stats.count(Workload.Outcome.OK) / count),
+                stats == null ? "" : stats.count(Workload.Outcome.CLIENT_ERROR),
+                stats == null ? "" : stats.count(Workload.Outcome.THROTTLED),
+                stats == null ? "" : stats.count(Workload.Outcome.SERVER_ERROR),
+                stats == null ? "" : stats.count(Workload.Outcome.FAILED),
+                stats == null ? "" : stats.count(Workload.Outcome.IO_ERROR),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static final class RouteStats {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<Workload.Outcome, LongAdder> outcomes = new EnumMap<>(Workload.Outcome.class);
+        private Histogram interval;
+
+        private RouteStats() {
+            for (Workload.Outcome outcome : Workload.Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        private Histogram roll() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return interval;
+        }
+
+        private long count(Workload.Outcome outcome) {
+            return outcomes.get(outcome).sum();
+        }
+    }
+}
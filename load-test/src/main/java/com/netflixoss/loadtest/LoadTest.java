@@ -0,0 +1,77 @@
+package com.netflixoss.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Drives a mix of REST, GraphQL, SOAP and catalog traffic through the gateway, at a fixed rate or a fixed
+// number of concurrent requests, and reports latency percentiles per operation. See load-test/README.md for options.
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (LocalServices services = options.startServices()
+                ? LocalServices.start(options.projectDir(), options.serviceJvmOptions(), options.serviceArgs(),
+                        options.resultsDir().resolve("logs"), options.gateway())
+                : null) {
+            run(options);
+        }
+    }
+
+    private static void run(LoadTestOptions options) throws Exception {
+        ExecutorService responseExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responseExecutor)
+                .build();
+        Workload workload = new Workload(options.gateway(), options.clients(), options.timeout(), options.largePostSize());
+        LatencyReport report = new LatencyReport(options.mix().keySet());
+        OpenLoadDriver openDriver = new OpenLoadDriver(httpClient, workload, report, options.mix(), options.seed());
+        ClosedLoadDriver closedDriver = new ClosedLoadDriver(httpClient, responseExecutor, workload, report, options.mix(), options.seed());
+        boolean closed = options.concurrency() > 0;
+        LongSupplier inFlight = closed ? closedDriver::inFlight : openDriver::inFlight;
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        System.out.printf("Sending %s to %s: %s warmup, %s measured, mix %s%n",
+                closed ? options.concurrency() + " concurrent requests" : String.format("%.0f requests/s", options.rate()),
+                options.gateway(), options.warmup(), options.duration(), options.mix());
+
+        double intervalSeconds = options.reportInterval().toMillis() / 1000.0;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            if (now >= measureFrom) {
+                report.printInterval(System.out, (now - measureFrom) / 1e9, intervalSeconds);
+            }
+        }, TimeUnit.NANOSECONDS.toMillis(measureFrom - System.nanoTime()) + options.reportInterval().toMillis(),
+                options.reportInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+        long sent = closed
+                ? closedDriver.run(options.concurrency(), start, measureFrom, end)
+                : openDriver.run(options.rate(), start, measureFrom, end);
+
+        // Late answers still count; anything not back within the request timeout has failed by then.
+        long drainDeadline = System.nanoTime() + options.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.getAsLong() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        reporter.shutdown();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+
+        System.out.printf("%nSent %d requests (%d still in flight)%n", sent, inFlight.getAsLong());
+        report.printSummary(System.out);
+        report.writeDistributions(options.resultsDir());
+        System.out.println("Percentile distributions written to " + options.resultsDir().toAbsolutePath());
+        responseExecutor.shutdownNow();
+    }
+}
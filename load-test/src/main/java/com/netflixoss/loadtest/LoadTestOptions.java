@@ -0,0 +1,126 @@
+package com.netflixoss.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Command line options, given as --name=value (or just --name for flags).
+record LoadTestOptions(URI gateway,
+                       double rate,
+                       int concurrency,
+                       Duration duration,
+                       Duration warmup,
+                       Map<Operation, Integer> mix,
+                       int clients,
+                       Duration timeout,
+                       Duration reportInterval,
+                       long seed,
+                       int largePostSize,
+                       boolean startServices,
+                       Path projectDir,
+                       List<String> serviceJvmOptions,
+                       Boolean virtualThreads,
+                       Path resultsDir) {
+
+    static final String DEFAULT_MIX = "rest-order=2,graphql-create-order=1,graphql-order-by-id=2,"
+            + "soap-get-stock-level=2,soap-restock=1,catalog-read=4";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(take(values, "gateway", "http://localhost:8080")),
+                Double.parseDouble(take(values, "rate", "100")),
+                Integer.parseInt(take(values, "concurrency", "0")),
+                duration(take(values, "duration", "60s")),
+                duration(take(values, "warmup", "10s")),
+                mix(take(values, "mix", DEFAULT_MIX)),
+                Integer.parseInt(take(values, "clients", "20")),
+                duration(take(values, "timeout", "10s")),
+                duration(take(values, "report-interval", "5s")),
+                Long.parseLong(take(values, "seed", "42")),
+                size(take(values, "large-post-size", "1MB")),
+                Boolean.parseBoolean(take(values, "start-services", "false")),
+                Path.of(take(values, "project-dir", ".")).toAbsolutePath().normalize(),
+                List.of(take(values, "service-jvm-options", "-Xmx512m").split("\\s+")),
+                values.containsKey("virtual-threads") ? Boolean.valueOf(take(values, "virtual-threads", "true")) : null,
+                Path.of(take(values, "results-dir", "load-test/target/results")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate <= 0 || options.clients <= 0 || options.concurrency < 0) {
+            throw new IllegalArgumentException("rate and clients must be positive, concurrency must not be negative");
+        }
+        if (options.virtualThreads != null && !options.startServices) {
+            throw new IllegalArgumentException("virtual-threads applies to started services only; use it with start-services");
+        }
+        return options;
+    }
+
+    // Passed to every started service, overriding spring.threads.virtual.enabled from config-repo.
+    List<String> serviceArgs() {
+        return virtualThreads == null ? List.of() : List.of("--spring.threads.virtual.enabled=" + virtualThreads);
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    // Accepts 500ms, 30s, 2m or an ISO-8601 duration.
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+
+    // Accepts a byte count or a KB/MB suffix (1024-based).
+    static int size(String value) {
+        String text = value.trim().toUpperCase(Locale.ROOT);
+        if (text.endsWith("MB")) {
+            return Math.toIntExact(Long.parseLong(text.substring(0, text.length() - 2).trim()) * 1024 * 1024);
+        }
+        if (text.endsWith("KB")) {
+            return Math.toIntExact(Long.parseLong(text.substring(0, text.length() - 2).trim()) * 1024);
+        }
+        return Integer.parseInt(text);
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like name=weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.byName(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
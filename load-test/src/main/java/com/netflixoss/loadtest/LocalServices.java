@@ -0,0 +1,154 @@
+package com.netflixoss.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Starts the five services from their built jars as local JVMs, in dependency order, and stops them again.
+// Each runs in its module directory, as with mvn spring-boot:run, so config-server finds ../config-repo.
+final class LocalServices implements AutoCloseable {
+
+    private static final List<Service> SERVICES = List.of(
+            new Service("config-server", 8888, List.of()),
+            new Service("eureka-server", 8761, List.of()),
+            new Service("product-stock-service", 8082, List.of()),
+            new Service("shop-management-service", 8081, List.of()),
+            // The load comes from this host, so its X-Client-Id values are trusted for per-client rate limits.
+            new Service("api-gateway", 8080, List.of("--gateway.rate-limit.trusted-addresses=127.0.0.1,::1")));
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final Deque<Process> processes = new ArrayDeque<>();
+
+    static LocalServices start(Path projectDir, List<String> jvmOptions, List<String> serviceArgs, Path logDir, URI gateway)
+            throws IOException, InterruptedException {
+        LocalServices services = new LocalServices();
+        try {
+            Files.createDirectories(logDir);
+            for (Service service : SERVICES) {
+                services.launch(service, projectDir, jvmOptions, serviceArgs, logDir);
+                services.awaitHealthy(service);
+            }
+            // Routes resolve through Eureka, which takes a few heartbeats to see the services.
+            services.awaitOk(gateway.resolve("/stock/api/products/SKU-1001"), "gateway route to product-stock-service");
+            services.awaitOk(gateway.resolve("/shop/api/shops/1/orders"), "gateway route to shop-management-service");
+            return services;
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            services.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() {
+        while (!processes.isEmpty()) {
+            Process process = processes.pop();
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException ex) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void launch(Service service, Path projectDir, List<String> jvmOptions, List<String> serviceArgs, Path logDir)
+            throws IOException {
+        Path moduleDir = projectDir.resolve(service.name());
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(executableJar(moduleDir, service.name()).toString());
+        command.addAll(service.args());
+        command.addAll(serviceArgs);
+        System.out.printf("Starting %s on port %d%n", service.name(), service.port());
+        Process process = new ProcessBuilder(command)
+                .directory(moduleDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.toAbsolutePath().resolve(service.name() + ".out").toFile())
+                .start();
+        processes.push(process);
+    }
+
+    // The services whose plain jar other modules use publish the runnable one with the exec classifier.
+    private static Path executableJar(Path moduleDir, String name) throws IOException {
+        Path target = moduleDir.resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No build output in " + target + "; run mvn -DskipTests package first");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            List<Path> jars = files
+                    .filter(path -> {
+                        String file = path.getFileName().toString();
+                        return file.startsWith(name + "-") && file.endsWith(".jar")
+                                && !file.endsWith("-sources.jar") && !file.endsWith("-javadoc.jar");
+                    })
+                    .sorted()
+                    .toList();
+            return jars.stream()
+                    .filter(path -> path.getFileName().toString().endsWith("-exec.jar"))
+                    .findFirst()
+                    .or(() -> jars.stream().findFirst())
+                    .orElseThrow(() -> new IllegalStateException("No " + name + " jar in " + target
+                            + "; run mvn -DskipTests package first"));
+        }
+    }
+
+    private void awaitHealthy(Service service) throws InterruptedException {
+        Process process = processes.peek();
+        URI health = URI.create("http://localhost:" + service.port() + "/actuator/health");
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (process != null && !process.isAlive()) {
+                throw new IllegalStateException(service.name() + " exited with " + process.exitValue() + "; see its .out log");
+            }
+            HttpResponse<String> response = tryGet(health);
+            if (response != null && response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                return;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException(service.name() + " did not report UP within " + STARTUP_TIMEOUT);
+    }
+
+    private void awaitOk(URI uri, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = tryGet(uri);
+            if (response != null && response.statusCode() == 200) {
+                System.out.println("Ready: " + description);
+                return;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException(description + " not ready within " + STARTUP_TIMEOUT);
+    }
+
+    private HttpResponse<String> tryGet(URI uri) throws InterruptedException {
+        try {
+            return httpClient.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private record Service(String name, int port, List<String> args) {
+    }
+}
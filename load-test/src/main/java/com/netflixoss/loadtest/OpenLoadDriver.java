@@ -0,0 +1,64 @@
+package com.netflixoss.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: request i is due at start + i / rate, whether or not earlier requests have answered.
+// Latency is measured from that intended time, so a stalled service is charged for the requests queued
+// behind the stall (no coordinated omission). A sender that falls behind catches up by sending at once.
+final class OpenLoadDriver {
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final LatencyReport report;
+    private final OperationMix mix;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    OpenLoadDriver(HttpClient httpClient, Workload workload, LatencyReport report, Map<Operation, Integer> mix, long seed) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.report = report;
+        this.mix = new OperationMix(mix, seed);
+    }
+
+    // Sends until endNanos; only requests due at or after measureFromNanos are recorded. Returns the
+    // number of requests sent.
+    long run(double rate, long startNanos, long measureFromNanos, long endNanos) {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long sent = 0;
+        while (true) {
+            long intended = startNanos + (long) (sent * intervalNanos);
+            if (intended >= endNanos) {
+                return sent;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(mix.next(), sent, intended, intended >= measureFromNanos);
+            sent++;
+        }
+    }
+
+    long inFlight() {
+        return inFlight.get();
+    }
+
+    private void send(Operation operation, long sequence, long intended, boolean measured) {
+        HttpRequest request = workload.request(operation, sequence);
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - intended;
+            Workload.Outcome outcome = failure != null ? Workload.Outcome.IO_ERROR : workload.outcome(operation, response);
+            if (measured) {
+                report.record(operation, latency, outcome);
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.netflixoss.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// The calls the load test sends through the gateway, named as they appear in --mix and in the report.
+enum Operation {
+
+    REST_ORDER("rest-order"),
+    GRAPHQL_CREATE_ORDER("graphql-create-order"),
+    GRAPHQL_ORDER_BY_ID("graphql-order-by-id"),
+    SOAP_GET_STOCK_LEVEL("soap-get-stock-level"),
+    SOAP_RESTOCK("soap-restock"),
+    CATALOG_READ("catalog-read"),
+    LARGE_POST("large-post");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation byName(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + label + "', expected one of "
+                + Arrays.stream(values()).map(Operation::label).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,34 @@
+package com.netflixoss.loadtest;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Picks operations by their --mix weights from a seeded random sequence. Synchronized because the
+// closed-model driver picks from its response threads.
+final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+
+    OperationMix(Map<Operation, Integer> mix, long seed) {
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    synchronized Operation next() {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
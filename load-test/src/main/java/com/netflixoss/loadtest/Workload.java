@@ -0,0 +1,156 @@
+package com.netflixoss.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Builds the request for each operation against the seeded data (shops 1-2, SKU-1001 to SKU-1003) and
+// classifies the answers. Orders created during the run feed the orderById queries.
+final class Workload {
+
+    private static final String[] SKUS = {"SKU-1001", "SKU-1002", "SKU-1003"};
+    private static final int RESTOCK_QUANTITY = 25;
+    private static final int RECENT_ORDERS = 1024;
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*(\\d+)");
+
+    private static final String CREATE_ORDER_MUTATION = "mutation($shopId: ID!, $sku: String!, $qty: Int!) "
+            + "{ createOrder(shopId: $shopId, sku: $sku, qty: $qty) { success error data { orderId status } } }";
+    private static final String ORDER_BY_ID_QUERY = "query($id: ID!) "
+            + "{ orderById(id: $id) { success error data { orderId status } } }";
+    private static final String SHOP_QUERY = "query($id: ID!) { shop(id: $id) { id name } }";
+
+    private final URI gateway;
+    private final int clients;
+    private final Duration timeout;
+    private final int largePostSize;
+    private final byte[] largePostPadding;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLongArray recentOrders = new AtomicLongArray(RECENT_ORDERS);
+    private final AtomicLong createdOrders = new AtomicLong();
+
+    Workload(URI gateway, int clients, Duration timeout, int largePostSize) {
+        this.gateway = gateway;
+        this.clients = clients;
+        this.timeout = timeout;
+        this.largePostSize = largePostSize;
+        this.largePostPadding = new byte[largePostSize];
+        Arrays.fill(largePostPadding, (byte) 'x');
+    }
+
+    HttpRequest request(Operation operation, long sequence) {
+        String sku = SKUS[(int) (sequence % SKUS.length)];
+        long shopId = 1 + sequence % 2;
+        return switch (operation) {
+            case REST_ORDER -> post("/shop/api/shops/" + shopId + "/orders", sequence, "application/json",
+                    "{\"sku\":\"" + sku + "\",\"qty\":1}")
+                    .header("Idempotency-Key", "load-" + runId + "-" + sequence)
+                    .build();
+            case GRAPHQL_CREATE_ORDER -> post("/graphql", sequence, "application/json",
+                    graphql(CREATE_ORDER_MUTATION, "{\"shopId\":\"" + shopId + "\",\"sku\":\"" + sku + "\",\"qty\":1}"))
+                    .build();
+            case GRAPHQL_ORDER_BY_ID -> post("/graphql", sequence, "application/json",
+                    graphql(ORDER_BY_ID_QUERY, "{\"id\":\"" + recentOrder(sequence) + "\"}"))
+                    .build();
+            case SOAP_GET_STOCK_LEVEL -> post("/soap/ws", sequence, "text/xml",
+                    soap("<st:GetStockLevelRequest><sku>" + sku + "</sku></st:GetStockLevelRequest>"))
+                    .build();
+            case SOAP_RESTOCK -> post("/soap/ws", sequence, "text/xml",
+                    soap("<st:RestockProductRequest><sku>" + sku + "</sku><qty>" + RESTOCK_QUANTITY + "</qty></st:RestockProductRequest>"))
+                    .build();
+            // Mostly single products, with a full catalog page every fourth read.
+            case CATALOG_READ -> builder(sequence % 4 == 0 ? "/stock/api/products/page?limit=100" : "/stock/api/products/" + sku, sequence)
+                    .GET()
+                    .build();
+            case LARGE_POST -> largePost(shopId, sequence);
+        };
+    }
+
+    // A 200 can still carry a failure: GraphQL reports errors in the payload.
+    Outcome outcome(Operation operation, HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status == 429) {
+            return Outcome.THROTTLED;
+        }
+        if (status >= 500) {
+            return Outcome.SERVER_ERROR;
+        }
+        if (status >= 400) {
+            return Outcome.CLIENT_ERROR;
+        }
+        String body = response.body();
+        if ((operation == Operation.GRAPHQL_CREATE_ORDER || operation == Operation.GRAPHQL_ORDER_BY_ID
+                || operation == Operation.LARGE_POST)
+                && (body.contains("\"errors\"") || body.contains("\"success\":false"))) {
+            return Outcome.FAILED;
+        }
+        if (operation == Operation.REST_ORDER || operation == Operation.GRAPHQL_CREATE_ORDER) {
+            Matcher matcher = ORDER_ID.matcher(body);
+            if (matcher.find()) {
+                recentOrders.set((int) (createdOrders.getAndIncrement() % RECENT_ORDERS), Long.parseLong(matcher.group(1)));
+            }
+        }
+        return Outcome.OK;
+    }
+
+    private long recentOrder(long sequence) {
+        long created = createdOrders.get();
+        if (created == 0) {
+            return 1;
+        }
+        long id = recentOrders.get((int) (sequence % Math.min(created, RECENT_ORDERS)));
+        return id == 0 ? 1 : id;
+    }
+
+    // A query for a seeded shop, padded to --large-post-size bytes with an `extensions` entry that nothing reads, so the
+    // gateway streams (and captures the log prefix of) a large body while the shop does almost no work. Every
+    // request sends a slice of the same padding array instead of building its own body.
+    private HttpRequest largePost(long shopId, long sequence) {
+        byte[] head = ("{\"query\":\"" + SHOP_QUERY + "\",\"variables\":{\"id\":\"" + shopId
+                + "\"},\"extensions\":{\"padding\":\"").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = "\"}}".getBytes(StandardCharsets.UTF_8);
+        int padding = Math.max(0, largePostSize - head.length - tail.length);
+        return builder("/graphql", sequence)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofByteArray(head),
+                        HttpRequest.BodyPublishers.ofByteArray(largePostPadding, 0, padding),
+                        HttpRequest.BodyPublishers.ofByteArray(tail)))
+                .build();
+    }
+
+    private HttpRequest.Builder post(String path, long sequence, String contentType, String body) {
+        return builder(path, sequence)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    // Requests are spread over --clients client ids, so the gateway's per-client rate limits see many users
+    // (once it trusts this host's X-Client-Id, as --start-services arranges).
+    private HttpRequest.Builder builder(String path, long sequence) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(timeout)
+                .header("X-Client-Id", "load-" + (sequence % clients));
+    }
+
+    private static String graphql(String query, String variables) {
+        return "{\"query\":\"" + query.replace("\"", "\\\"") + "\",\"variables\":" + variables + "}";
+    }
+
+    private static String soap(String body) {
+        return "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+                + "xmlns:st=\"http://netflixoss.com/stock/soap\"><soapenv:Header/><soapenv:Body>"
+                + body + "</soapenv:Body></soapenv:Envelope>";
+    }
+
+    enum Outcome {
+        OK, CLIENT_ERROR, THROTTLED, SERVER_ERROR, FAILED, IO_ERROR
+    }
+}
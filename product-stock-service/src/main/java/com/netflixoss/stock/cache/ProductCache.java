@@ -0,0 +1,110 @@
+package com.netflixoss.stock.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflixoss.stock.entity.ProductEntity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class ProductCache {
+
+    private final Cache<String, CatalogEntry> catalog;
+    private final AsyncCache<String, Integer> stockLevels;
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${stock.cache.catalog.max-size:10000}") long catalogMaxSize,
+                        @Value("${stock.cache.catalog.ttl:10m}") Duration catalogTtl,
+                        @Value("${stock.cache.stock-level.max-size:10000}") long stockLevelMaxSize,
+                        @Value("${stock.cache.stock-level.ttl:2s}") Duration stockLevelTtl) {
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(catalogMaxSize)
+                .expireAfterWrite(catalogTtl)
+                .recordStats()
+                .build();
+        this.stockLevels = Caffeine.newBuilder()
+                .maximumSize(stockLevelMaxSize)
+                .expireAfterWrite(stockLevelTtl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, catalog, "productCatalog");
+        CaffeineCacheMetrics.monitor(meterRegistry, stockLevels.synchronous(), "productStockLevel");
+    }
+
+    public CatalogEntry getCatalog(String sku) {
+        return catalog.getIfPresent(sku);
+    }
+
+    // Cache.get(key, loader) would run the JDBC load inside ConcurrentHashMap.compute, whose monitor
+    // pins a virtual thread's carrier. Only the placeholder future is inserted under the lock; the
+    // load runs outside it and concurrent readers of the same sku wait on the future.
+    public int getStockLevel(String sku, Function<String, Integer> loader) {
+        Integer cached = stockLevels.synchronous().getIfPresent(sku);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<Integer> loading = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = stockLevels.asMap().putIfAbsent(sku, loading);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            Integer loaded = loader.apply(sku);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException ex) {
+            stockLevels.asMap().remove(sku, loading);
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public void put(ProductEntity product) {
+        catalog.put(product.getSku(), new CatalogEntry(product.getName(), product.getPrice()));
+        stockLevels.put(product.getSku(), CompletableFuture.completedFuture(product.getAvailableQuantity()));
+    }
+
+    // Evicting only once the transaction has completed keeps a concurrent reader from
+    // re-populating the entry with the pre-commit quantity. A reader that loaded just before
+    // the commit can still put a stale value back, which the short stock-level TTL bounds.
+    public void evictStockLevelAfterCompletion(String sku) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLevels.synchronous().invalidate(sku);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stockLevels.synchronous().invalidate(sku);
+            }
+        });
+    }
+
+    private static int await(CompletableFuture<Integer> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public record CatalogEntry(String name, BigDecimal price) {
+    }
+}
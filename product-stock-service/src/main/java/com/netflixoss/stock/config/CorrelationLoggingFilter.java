@@ -1,24 +1,21 @@
 package com.netflixoss.stock.config;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Locale;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,40 +25,83 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class CorrelationLoggingFilter extends OncePerRequestFilter {
 
-    private static final Logger log = LoggerFactory.getLogger(CorrelationLoggingFilter.class);
     private static final String CORRELATION_HEADER = "X-Correlation-Id";
     private static final int MAX_BODY_LOG_SIZE = 5 * 1024;
-    private static final Set<String> SENSITIVE_HEADERS = Set.of("authorization", "cookie");
+    private static final String[] NO_HEADERS = new String[0];
+    private static final String CORRELATION_ATTRIBUTE = CorrelationLoggingFilter.class.getName() + ".correlationId";
+    private static final String START_ATTRIBUTE = CorrelationLoggingFilter.class.getName() + ".start";
+
+    private final RequestLogWriter requestLogWriter;
+    private final double defaultSampleRate;
+    // Longest prefix first so the most specific route rate wins.
+    private final List<Map.Entry<String, Double>> routeSampleRates;
+
+    public CorrelationLoggingFilter(RequestLogWriter requestLogWriter, RequestLoggingProperties properties) {
+        this.requestLogWriter = requestLogWriter;
+        this.defaultSampleRate = properties.getBodySampleRate();
+        this.routeSampleRates = new ArrayList<>(properties.getRouteSampleRates().entrySet());
+        this.routeSampleRates.sort(Comparator.comparingInt((Map.Entry<String, Double> e) -> e.getKey().length()).reversed());
+    }
+
+    // Async requests (the NDJSON export and the SSE change stream) are logged once, when the async
+    // dispatch that writes the response finishes.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        // Only the first MAX_BODY_LOG_SIZE bytes are retained; the response is no longer buffered at all.
+        ContentCachingRequestWrapper wrappedRequest = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        if (wrappedRequest == null) {
+            wrappedRequest = new ContentCachingRequestWrapper(request, MAX_BODY_LOG_SIZE);
+        }
 
-        String correlationId = resolveCorrelationId(request);
+        String correlationId;
+        long startNanos;
+        if (isAsyncDispatch(request)) {
+            correlationId = (String) request.getAttribute(CORRELATION_ATTRIBUTE);
+            startNanos = (Long) request.getAttribute(START_ATTRIBUTE);
+        } else {
+            correlationId = resolveCorrelationId(request);
+            startNanos = System.nanoTime();
+            request.setAttribute(CORRELATION_ATTRIBUTE, correlationId);
+            request.setAttribute(START_ATTRIBUTE, startNanos);
+            response.setHeader(CORRELATION_HEADER, correlationId);
+        }
         MDC.put("correlationId", correlationId);
-        wrappedResponse.setHeader(CORRELATION_HEADER, correlationId);
 
-        long startNanos = System.nanoTime();
         try {
-            filterChain.doFilter(wrappedRequest, wrappedResponse);
+            filterChain.doFilter(wrappedRequest, response);
         } finally {
-            String query = request.getQueryString() == null ? "" : "?" + request.getQueryString();
-            String path = request.getRequestURI() + query;
-            String body = sanitizeBody(readRequestBody(wrappedRequest));
-            Map<String, String> headers = maskHeaders(request);
-            long latency = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
-
-            log.info("SVC IN method={} path={} headers={} body={}", request.getMethod(), path, headers, body);
-            log.info("SVC OUT status={} latencyMs={}", wrappedResponse.getStatus(), latency);
-
-            wrappedResponse.copyBodyToResponse();
+            if (!isAsyncStarted(request)) {
+                logExchange(request, response, wrappedRequest, correlationId, startNanos);
+            }
             MDC.clear();
         }
     }
 
+    private void logExchange(HttpServletRequest request, HttpServletResponse response,
+                             ContentCachingRequestWrapper wrappedRequest, String correlationId, long startNanos) {
+        long latency = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        int status = response.getStatus();
+        String query = request.getQueryString() == null ? "" : "?" + request.getQueryString();
+        String path = request.getRequestURI() + query;
+
+        byte[] body = null;
+        boolean truncated = false;
+        if (status >= 400 || isBodySampled(request.getRequestURI())) {
+            body = wrappedRequest.getContentAsByteArray();
+            truncated = body.length >= MAX_BODY_LOG_SIZE && request.getContentLengthLong() != body.length;
+        }
+
+        requestLogWriter.submit(new RequestLogRecord(correlationId, request.getMethod(), path,
+                captureHeaders(request), body, truncated, status, latency));
+    }
+
     private String resolveCorrelationId(HttpServletRequest request) {
         String incoming = request.getHeader(CORRELATION_HEADER);
         if (!StringUtils.hasText(incoming)) {
@@ -70,38 +110,29 @@ public class CorrelationLoggingFilter extends OncePerRequestFilter {
         return incoming;
     }
 
-    private Map<String, String> maskHeaders(HttpServletRequest request) {
-        Enumeration<String> headerNames = request.getHeaderNames();
-        if (headerNames == null) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, String> result = new HashMap<>();
-        while (headerNames.hasMoreElements()) {
-            String name = headerNames.nextElement();
-            String value = request.getHeader(name);
-            if (SENSITIVE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
-                result.put(name, "***");
-            } else {
-                result.put(name, value);
+    private boolean isBodySampled(String uri) {
+        double rate = defaultSampleRate;
+        for (Map.Entry<String, Double> route : routeSampleRates) {
+            if (uri.startsWith(route.getKey())) {
+                rate = route.getValue();
+                break;
             }
         }
-        return result;
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
     }
 
-    private String readRequestBody(ContentCachingRequestWrapper request) {
-        byte[] buffer = request.getContentAsByteArray();
-        if (buffer.length == 0) {
-            return "";
+    // Copies raw name/value pairs; masking and formatting happen on the log writer thread.
+    private String[] captureHeaders(HttpServletRequest request) {
+        Enumeration<String> headerNames = request.getHeaderNames();
+        if (headerNames == null) {
+            return NO_HEADERS;
         }
-        return new String(buffer, StandardCharsets.UTF_8);
-    }
-
-    private String sanitizeBody(String body) {
-        if (!StringUtils.hasText(body)) {
-            return "";
+        List<String> pairs = new ArrayList<>();
+        while (headerNames.hasMoreElements()) {
+            String name = headerNames.nextElement();
+            pairs.add(name);
+            pairs.add(request.getHeader(name));
         }
-        String trimmed = body.length() > MAX_BODY_LOG_SIZE ? body.substring(0, MAX_BODY_LOG_SIZE) + "...[truncated]" : body;
-        return trimmed.replaceAll("(?i)\\\"(password|secret)\\\"\\s*:\\s*\\\".*?\\\"", "\"$1\":\"***\"");
+        return pairs.toArray(NO_HEADERS);
     }
 }
@@ -0,0 +1,115 @@
+package com.netflixoss.stock.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+public final class LogMasking {
+
+    public static final String TRUNCATED_SUFFIX = "...[truncated]";
+
+    private static final Set<String> SENSITIVE_HEADERS = Set.of("authorization", "cookie");
+    private static final String[] SENSITIVE_FIELDS = {"password", "secret"};
+    private static final String MASK = "***";
+
+    private LogMasking() {
+    }
+
+    // Renders name/value pairs in the same {name=value, ...} shape the filters have always logged.
+    public static String maskHeaders(String[] headers) {
+        StringBuilder result = new StringBuilder(headers.length * 24).append('{');
+        for (int i = 0; i < headers.length; i += 2) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            String name = headers[i];
+            result.append(name).append('=')
+                    .append(SENSITIVE_HEADERS.contains(name.toLowerCase(Locale.ROOT)) ? MASK : headers[i + 1]);
+        }
+        return result.append('}').toString();
+    }
+
+    public static String maskBody(byte[] body, boolean truncated) {
+        if (body == null || body.length == 0) {
+            return "";
+        }
+        String masked = maskJson(new String(body, StandardCharsets.UTF_8));
+        return truncated ? masked + TRUNCATED_SUFFIX : masked;
+    }
+
+    // Single pass over the text: string values of "password"/"secret" keys are replaced with ***,
+    // everything else is copied through. Equivalent to the old regex without backtracking.
+    public static String maskJson(String json) {
+        StringBuilder result = null;
+        int copiedUpTo = 0;
+        int length = json.length();
+        int i = 0;
+        while (i < length) {
+            if (json.charAt(i) != '"') {
+                i++;
+                continue;
+            }
+            int keyEnd = matchSensitiveKey(json, i + 1);
+            if (keyEnd < 0) {
+                i = skipString(json, i + 1);
+                continue;
+            }
+            int valueStart = skipWhitespace(json, keyEnd + 1);
+            if (valueStart >= length || json.charAt(valueStart) != ':') {
+                i = keyEnd + 1;
+                continue;
+            }
+            valueStart = skipWhitespace(json, valueStart + 1);
+            if (valueStart >= length || json.charAt(valueStart) != '"') {
+                i = valueStart;
+                continue;
+            }
+            int valueEnd = skipString(json, valueStart + 1);
+            if (result == null) {
+                result = new StringBuilder(length);
+            }
+            result.append(json, copiedUpTo, valueStart + 1).append(MASK).append('"');
+            copiedUpTo = Math.min(valueEnd, length);
+            i = valueEnd;
+        }
+        if (result == null) {
+            return json;
+        }
+        return result.append(json, copiedUpTo, length).toString();
+    }
+
+    // Returns the index of the closing quote when the key starting at {@code start} is sensitive.
+    private static int matchSensitiveKey(String json, int start) {
+        for (String field : SENSITIVE_FIELDS) {
+            int end = start + field.length();
+            if (end < json.length() && json.charAt(end) == '"' && json.regionMatches(true, start, field, 0, field.length())) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the index just past the closing quote of a string whose content starts at {@code start}.
+    private static int skipString(String json, int start) {
+        int i = start;
+        while (i < json.length()) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return json.length();
+    }
+
+    private static int skipWhitespace(String json, int start) {
+        int i = start;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
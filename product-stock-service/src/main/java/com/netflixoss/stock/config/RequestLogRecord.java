@@ -0,0 +1,11 @@
+package com.netflixoss.stock.config;
+
+public record RequestLogRecord(String correlationId,
+                               String method,
+                               String path,
+                               String[] headers,
+                               byte[] body,
+                               boolean bodyTruncated,
+                               int status,
+                               long latencyMs) {
+}
@@ -0,0 +1,103 @@
+package com.netflixoss.stock.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class RequestLogWriter implements SmartLifecycle {
+
+    // Keeps the SVC IN / SVC OUT lines under the filter's logger so existing log configuration still applies.
+    private static final Logger log = LoggerFactory.getLogger(CorrelationLoggingFilter.class);
+
+    private final RequestLoggingProperties properties;
+    private final BlockingQueue<RequestLogRecord> buffer;
+    private final Counter droppedRecords;
+    private volatile Thread drainer;
+    private volatile boolean running;
+
+    public RequestLogWriter(RequestLoggingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, properties.getBufferSize()));
+        this.droppedRecords = Counter.builder("request.logging.dropped")
+                .description("Request log records dropped because the log buffer was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("request.logging.buffered", buffer, BlockingQueue::size);
+    }
+
+    // Called on the request thread: never blocks, drops the record when the drainer falls behind.
+    public void submit(RequestLogRecord record) {
+        if (!properties.isAsync() || !running) {
+            write(record);
+            return;
+        }
+        if (!buffer.offer(record)) {
+            droppedRecords.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drain, "request-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        drainer = thread;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = drainer;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        RequestLogRecord record;
+        while ((record = buffer.poll()) != null) {
+            write(record);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                write(buffer.take());
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to write request log record", ex);
+            }
+        }
+    }
+
+    private void write(RequestLogRecord record) {
+        MDC.put("correlationId", record.correlationId());
+        try {
+            log.info("SVC IN method={} path={} headers={} body={}", record.method(), record.path(),
+                    LogMasking.maskHeaders(record.headers()),
+                    LogMasking.maskBody(record.body(), record.bodyTruncated()));
+            log.info("SVC OUT status={} latencyMs={}", record.status(), record.latencyMs());
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+}
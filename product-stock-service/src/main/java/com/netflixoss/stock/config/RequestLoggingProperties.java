@@ -0,0 +1,47 @@
+package com.netflixoss.stock.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "request-logging")
+public class RequestLoggingProperties {
+
+    private boolean async = true;
+    private int bufferSize = 8192;
+    private double bodySampleRate = 1.0;
+    private Map<String, Double> routeSampleRates = new LinkedHashMap<>();
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public double getBodySampleRate() {
+        return bodySampleRate;
+    }
+
+    public void setBodySampleRate(double bodySampleRate) {
+        this.bodySampleRate = bodySampleRate;
+    }
+
+    public Map<String, Double> getRouteSampleRates() {
+        return routeSampleRates;
+    }
+
+    public void setRouteSampleRates(Map<String, Double> routeSampleRates) {
+        this.routeSampleRates = routeSampleRates;
+    }
+}
@@ -3,16 +3,25 @@ package com.netflixoss.stock.controller;
 import java.util.List;
 
 import org.slf4j.MDC;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.netflixoss.stock.dto.ApiResponse;
+import com.netflixoss.stock.dto.ProductLookupRequest;
+import com.netflixoss.stock.dto.ProductPageResponse;
 import com.netflixoss.stock.dto.ProductResponse;
 import com.netflixoss.stock.service.ProductStockService;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
@@ -23,9 +32,32 @@ public class ProductController {
         this.productStockService = productStockService;
     }
 
-    @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getProducts() {
-        return ResponseEntity.ok(ApiResponse.success(productStockService.getAllProducts(), MDC.get("correlationId")));
+    // Same ApiResponse<List<ProductResponse>> body as always, now streamed from the database.
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getProducts() {
+        String correlationId = MDC.get("correlationId");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> productStockService.writeProductList(outputStream, correlationId));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<ProductPageResponse>> getProductPage(@RequestParam(required = false) String after,
+                                                                           @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(productStockService.getProductPage(after, limit), MDC.get("correlationId")));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productStockService::exportProducts);
+    }
+
+    // Several SKUs in one call, e.g. for the shop's batched GraphQL product fields. Unknown SKUs are left out.
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> lookupProducts(@Valid @RequestBody ProductLookupRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(productStockService.getProductsBySkus(request.getSkus()), MDC.get("correlationId")));
     }
 
     @GetMapping("/{sku}")
@@ -0,0 +1,30 @@
+package com.netflixoss.stock.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.netflixoss.stock.service.StockChangeStream;
+
+@RestController
+@RequestMapping("/api/stock/changes")
+public class StockChangeController {
+
+    private final StockChangeStream stockChangeStream;
+
+    public StockChangeController(StockChangeStream stockChangeStream) {
+        this.stockChangeStream = stockChangeStream;
+    }
+
+    // EventSource clients resume with Last-Event-ID ({epoch}:{offset}) automatically; other clients can pass
+    // ?after={epoch}:{offset}, or a bare offset in the current epoch.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return stockChangeStream.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
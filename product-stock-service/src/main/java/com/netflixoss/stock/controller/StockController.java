@@ -5,10 +5,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.netflixoss.stock.dto.ApiResponse;
+import com.netflixoss.stock.dto.ConfirmStockRequest;
+import com.netflixoss.stock.dto.ConfirmStockResponse;
+import com.netflixoss.stock.dto.ReleaseStockRequest;
+import com.netflixoss.stock.dto.ReleaseStockResponse;
+import com.netflixoss.stock.dto.ReserveStockBatchRequest;
+import com.netflixoss.stock.dto.ReserveStockBatchResponse;
+import com.netflixoss.stock.dto.ReserveStockBulkRequest;
+import com.netflixoss.stock.dto.ReserveStockBulkResponse;
 import com.netflixoss.stock.dto.ReserveStockRequest;
 import com.netflixoss.stock.dto.ReserveStockResponse;
 import com.netflixoss.stock.service.ProductStockService;
@@ -20,6 +29,8 @@ import jakarta.validation.Valid;
 @Validated
 public class StockController {
 
+    private static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+
     private final ProductStockService productStockService;
 
     public StockController(ProductStockService productStockService) {
@@ -27,8 +38,36 @@ public class StockController {
     }
 
     @PostMapping("/reserve")
-    public ResponseEntity<ApiResponse<ReserveStockResponse>> reserveStock(@Valid @RequestBody ReserveStockRequest request) {
-        ReserveStockResponse response = productStockService.reserveStock(request);
+    public ResponseEntity<ApiResponse<ReserveStockResponse>> reserveStock(
+            @Valid @RequestBody ReserveStockRequest request,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyKey) {
+        ReserveStockResponse response = productStockService.reserveStock(request, idempotencyKey);
+        return ResponseEntity.ok(ApiResponse.success(response, MDC.get("correlationId")));
+    }
+
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<ApiResponse<ReserveStockBatchResponse>> reserveStockBatch(
+            @Valid @RequestBody ReserveStockBatchRequest request,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyKey) {
+        ReserveStockBatchResponse response = productStockService.reserveStockBatch(request, idempotencyKey);
+        return ResponseEntity.ok(ApiResponse.success(response, MDC.get("correlationId")));
+    }
+
+    @PostMapping("/reserve/bulk")
+    public ResponseEntity<ApiResponse<ReserveStockBulkResponse>> reserveStockBulk(@Valid @RequestBody ReserveStockBulkRequest request) {
+        ReserveStockBulkResponse response = productStockService.reserveStockBulk(request);
+        return ResponseEntity.ok(ApiResponse.success(response, MDC.get("correlationId")));
+    }
+
+    @PostMapping("/confirm")
+    public ResponseEntity<ApiResponse<ConfirmStockResponse>> confirmStock(@Valid @RequestBody ConfirmStockRequest request) {
+        ConfirmStockResponse response = productStockService.confirmStock(request.getReservationKey());
+        return ResponseEntity.ok(ApiResponse.success(response, MDC.get("correlationId")));
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<ApiResponse<ReleaseStockResponse>> releaseStock(@Valid @RequestBody ReleaseStockRequest request) {
+        ReleaseStockResponse response = productStockService.releaseStock(request.getReservationKey());
         return ResponseEntity.ok(ApiResponse.success(response, MDC.get("correlationId")));
     }
 }
@@ -0,0 +1,24 @@
+package com.netflixoss.stock.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class ConfirmStockRequest {
+
+    @NotBlank
+    private String reservationKey;
+
+    public ConfirmStockRequest() {
+    }
+
+    public ConfirmStockRequest(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+}
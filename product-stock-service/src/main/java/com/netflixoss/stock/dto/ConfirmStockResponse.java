@@ -0,0 +1,53 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+public class ConfirmStockResponse {
+
+    private String reservationKey;
+    private boolean confirmed;
+    private List<ReserveStockRequest> items;
+    private String message;
+
+    public ConfirmStockResponse() {
+    }
+
+    public ConfirmStockResponse(String reservationKey, boolean confirmed, List<ReserveStockRequest> items, String message) {
+        this.reservationKey = reservationKey;
+        this.confirmed = confirmed;
+        this.items = items;
+        this.message = message;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public boolean isConfirmed() {
+        return confirmed;
+    }
+
+    public void setConfirmed(boolean confirmed) {
+        this.confirmed = confirmed;
+    }
+
+    public List<ReserveStockRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReserveStockRequest> items) {
+        this.items = items;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,29 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class ProductLookupRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotBlank String> skus;
+
+    public ProductLookupRequest() {
+    }
+
+    public ProductLookupRequest(List<String> skus) {
+        this.skus = skus;
+    }
+
+    public List<String> getSkus() {
+        return skus;
+    }
+
+    public void setSkus(List<String> skus) {
+        this.skus = skus;
+    }
+}
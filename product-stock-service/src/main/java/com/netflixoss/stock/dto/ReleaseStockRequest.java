@@ -0,0 +1,24 @@
+package com.netflixoss.stock.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class ReleaseStockRequest {
+
+    @NotBlank
+    private String reservationKey;
+
+    public ReleaseStockRequest() {
+    }
+
+    public ReleaseStockRequest(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+}
@@ -0,0 +1,43 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+public class ReleaseStockResponse {
+
+    private String reservationKey;
+    private List<ReserveStockRequest> items;
+    private String message;
+
+    public ReleaseStockResponse() {
+    }
+
+    public ReleaseStockResponse(String reservationKey, List<ReserveStockRequest> items, String message) {
+        this.reservationKey = reservationKey;
+        this.items = items;
+        this.message = message;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public List<ReserveStockRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReserveStockRequest> items) {
+        this.items = items;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+public class ReserveStockBatchRequest {
+
+    @NotEmpty
+    private List<@Valid ReserveStockRequest> items;
+
+    public ReserveStockBatchRequest() {
+    }
+
+    public ReserveStockBatchRequest(List<ReserveStockRequest> items) {
+        this.items = items;
+    }
+
+    public List<ReserveStockRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReserveStockRequest> items) {
+        this.items = items;
+    }
+}
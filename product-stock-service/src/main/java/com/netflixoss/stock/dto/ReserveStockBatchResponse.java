@@ -0,0 +1,43 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+public class ReserveStockBatchResponse {
+
+    private boolean reserved;
+    private List<ReserveStockResponse> items;
+    private String message;
+
+    public ReserveStockBatchResponse() {
+    }
+
+    public ReserveStockBatchResponse(boolean reserved, List<ReserveStockResponse> items, String message) {
+        this.reserved = reserved;
+        this.items = items;
+        this.message = message;
+    }
+
+    public boolean isReserved() {
+        return reserved;
+    }
+
+    public void setReserved(boolean reserved) {
+        this.reserved = reserved;
+    }
+
+    public List<ReserveStockResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReserveStockResponse> items) {
+        this.items = items;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
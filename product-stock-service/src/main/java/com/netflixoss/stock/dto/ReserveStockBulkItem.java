@@ -0,0 +1,48 @@
+package com.netflixoss.stock.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class ReserveStockBulkItem {
+
+    @NotBlank
+    private String sku;
+
+    @Min(1)
+    private Integer quantity;
+
+    private String reservationKey;
+
+    public ReserveStockBulkItem() {
+    }
+
+    public ReserveStockBulkItem(String sku, Integer quantity, String reservationKey) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.reservationKey = reservationKey;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+}
@@ -0,0 +1,29 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class ReserveStockBulkRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid ReserveStockBulkItem> items;
+
+    public ReserveStockBulkRequest() {
+    }
+
+    public ReserveStockBulkRequest(List<ReserveStockBulkItem> items) {
+        this.items = items;
+    }
+
+    public List<ReserveStockBulkItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReserveStockBulkItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,23 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+public class ReserveStockBulkResponse {
+
+    private List<ReserveStockResponse> items;
+
+    public ReserveStockBulkResponse() {
+    }
+
+    public ReserveStockBulkResponse(List<ReserveStockResponse> items) {
+        this.items = items;
+    }
+
+    public List<ReserveStockResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReserveStockResponse> items) {
+        this.items = items;
+    }
+}
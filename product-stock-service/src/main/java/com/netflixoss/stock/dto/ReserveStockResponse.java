@@ -2,6 +2,7 @@ package com.netflixoss.stock.dto;
 
 public class ReserveStockResponse {
 
+    private String sku;
     private boolean reserved;
     private Integer remainingQuantity;
     private String message;
@@ -9,12 +10,21 @@ public class ReserveStockResponse {
     public ReserveStockResponse() {
     }
 
-    public ReserveStockResponse(boolean reserved, Integer remainingQuantity, String message) {
+    public ReserveStockResponse(String sku, boolean reserved, Integer remainingQuantity, String message) {
+        this.sku = sku;
         this.reserved = reserved;
         this.remainingQuantity = remainingQuantity;
         this.message = message;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     public boolean isReserved() {
         return reserved;
     }
@@ -0,0 +1,41 @@
+package com.netflixoss.stock.dto;
+
+public class RestockFailure {
+
+    private int line;
+    private String sku;
+    private String message;
+
+    public RestockFailure() {
+    }
+
+    public RestockFailure(int line, String sku, String message) {
+        this.line = line;
+        this.sku = sku;
+        this.message = message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,53 @@
+package com.netflixoss.stock.dto;
+
+import java.util.List;
+
+public class RestockFeedResult {
+
+    private int lineCount;
+    private int restockedCount;
+    private int failedCount;
+    private List<RestockFailure> failures;
+
+    public RestockFeedResult() {
+    }
+
+    public RestockFeedResult(int lineCount, int restockedCount, int failedCount, List<RestockFailure> failures) {
+        this.lineCount = lineCount;
+        this.restockedCount = restockedCount;
+        this.failedCount = failedCount;
+        this.failures = failures;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    public int getRestockedCount() {
+        return restockedCount;
+    }
+
+    public void setRestockedCount(int restockedCount) {
+        this.restockedCount = restockedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<RestockFailure> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<RestockFailure> failures) {
+        this.failures = failures;
+    }
+}
@@ -0,0 +1,31 @@
+package com.netflixoss.stock.dto;
+
+public class RestockItem {
+
+    private String sku;
+    private int quantity;
+
+    public RestockItem() {
+    }
+
+    public RestockItem(String sku, int quantity) {
+        this.sku = sku;
+        this.quantity = quantity;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,51 @@
+package com.netflixoss.stock.dto;
+
+public class RestockResult {
+
+    private String sku;
+    private boolean restocked;
+    private Integer availableQuantity;
+    private String message;
+
+    public RestockResult() {
+    }
+
+    public RestockResult(String sku, boolean restocked, Integer availableQuantity, String message) {
+        this.sku = sku;
+        this.restocked = restocked;
+        this.availableQuantity = availableQuantity;
+        this.message = message;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public boolean isRestocked() {
+        return restocked;
+    }
+
+    public void setRestocked(boolean restocked) {
+        this.restocked = restocked;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
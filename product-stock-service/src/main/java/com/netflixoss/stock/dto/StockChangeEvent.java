@@ -0,0 +1,73 @@
+package com.netflixoss.stock.dto;
+
+import java.time.Instant;
+
+public class StockChangeEvent {
+
+    private Long offset;
+    private String sku;
+    private Integer delta;
+    private Integer availableQuantity;
+    private String reason;
+    private Instant occurredAt;
+
+    public StockChangeEvent() {
+    }
+
+    public StockChangeEvent(Long offset, String sku, Integer delta, Integer availableQuantity, String reason, Instant occurredAt) {
+        this.offset = offset;
+        this.sku = sku;
+        this.delta = delta;
+        this.availableQuantity = availableQuantity;
+        this.reason = reason;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
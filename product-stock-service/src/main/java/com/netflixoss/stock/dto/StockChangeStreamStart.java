@@ -0,0 +1,44 @@
+package com.netflixoss.stock.dto;
+
+// First event of every /api/stock/changes connection. With reset=true the requested position could not be
+// resumed (another epoch, ahead of the stream, or already purged): the client must drop whatever it derived
+// from earlier events. The stream continues after `offset` either way.
+public class StockChangeStreamStart {
+
+    private String epoch;
+    private Long offset;
+    private boolean reset;
+
+    public StockChangeStreamStart() {
+    }
+
+    public StockChangeStreamStart(String epoch, Long offset, boolean reset) {
+        this.epoch = epoch;
+        this.offset = offset;
+        this.reset = reset;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
@@ -0,0 +1,111 @@
+package com.netflixoss.stock.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "stock_changes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_changes_stream_offset", columnNames = "stream_offset"),
+        indexes = @Index(name = "idx_stock_changes_occurred_at", columnList = "occurred_at"))
+public class StockChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_change_seq")
+    @SequenceGenerator(name = "stock_change_seq", sequenceName = "stock_change_seq", allocationSize = 50)
+    private Long id;
+
+    // Assigned by the relay when the change is published; null while it is still in the outbox.
+    @Column(name = "stream_offset")
+    private Long streamOffset;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Column(name = "available_quantity", nullable = false)
+    private Integer availableQuantity;
+
+    @Column(nullable = false, length = 20)
+    private String reason;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public StockChangeEntity() {
+    }
+
+    public StockChangeEntity(String sku, Integer delta, Integer availableQuantity, String reason, Instant occurredAt) {
+        this.sku = sku;
+        this.delta = delta;
+        this.availableQuantity = availableQuantity;
+        this.reason = reason;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStreamOffset() {
+        return streamOffset;
+    }
+
+    public void setStreamOffset(Long streamOffset) {
+        this.streamOffset = streamOffset;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
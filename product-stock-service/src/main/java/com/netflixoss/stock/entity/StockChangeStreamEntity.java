@@ -0,0 +1,59 @@
+package com.netflixoss.stock.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// The single row naming the current stock change stream. Offsets are only comparable within one epoch: a new
+// database (every restart of the in-memory one) starts a new epoch, and its offsets start again at 1.
+@Entity
+@Table(name = "stock_change_stream")
+public class StockChangeStreamEntity {
+
+    public static final long STREAM_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String epoch;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public StockChangeStreamEntity() {
+    }
+
+    public StockChangeStreamEntity(String epoch, Instant createdAt) {
+        this.id = STREAM_ID;
+        this.epoch = epoch;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.netflixoss.stock.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Plain JDBC for the bulk stock operations: a JPQL update is one statement per call, while these are sent as
+// a single JDBC batch or a single IN query per chunk. Runs in the caller's JPA transaction.
+@Repository
+public class ProductBatchRepository {
+
+    private static final String INCREMENT_SQL =
+            "update products set available_quantity = available_quantity + ? where sku = ?";
+    private static final String SELECT_QUANTITIES_SQL =
+            "select sku, available_quantity from products where sku in (:skus)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductBatchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Unknown SKUs update nothing; callers find them missing from findAvailableQuantities afterwards, since
+    // drivers may report batched update counts as SUCCESS_NO_INFO.
+    public void incrementAvailableQuantities(Map<String, Integer> quantitiesBySku) {
+        List<Object[]> batch = new ArrayList<>(quantitiesBySku.size());
+        quantitiesBySku.forEach((sku, quantity) -> batch.add(new Object[] {quantity, sku}));
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INCREMENT_SQL, batch);
+    }
+
+    public Map<String, Integer> findAvailableQuantities(Collection<String> skus) {
+        Map<String, Integer> quantitiesBySku = new HashMap<>();
+        if (skus.isEmpty()) {
+            return quantitiesBySku;
+        }
+        jdbcTemplate.query(SELECT_QUANTITIES_SQL, Map.of("skus", skus), (RowCallbackHandler) rs ->
+                quantitiesBySku.put(rs.getString(1), rs.getInt(2)));
+        return quantitiesBySku;
+    }
+}
@@ -1,12 +1,54 @@
 package com.netflixoss.stock.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.netflixoss.stock.dto.ProductResponse;
 import com.netflixoss.stock.entity.ProductEntity;
 
+import jakarta.persistence.QueryHint;
+
 public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
 
     Optional<ProductEntity> findBySku(String sku);
+
+    List<ProductEntity> findBySkuIn(Collection<String> skus);
+
+    List<ProductEntity> findAllByOrderBySkuAsc(Limit limit);
+
+    List<ProductEntity> findBySkuGreaterThanOrderBySkuAsc(String sku, Limit limit);
+
+    // Constructor projection: rows are mapped straight to DTOs, so nothing accumulates in the
+    // persistence context while the export walks the whole table.
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.netflixoss.stock.dto.ProductResponse(p.sku, p.name, p.availableQuantity, p.price) "
+            + "from ProductEntity p order by p.sku")
+    Stream<ProductResponse> streamAllOrderBySku();
+
+    @Query("select p.availableQuantity from ProductEntity p where p.sku = :sku")
+    Optional<Integer> findAvailableQuantityBySku(@Param("sku") String sku);
+
+    // Conditional decrement: the row lock taken by the UPDATE makes check-and-decrement atomic,
+    // so concurrent reservations for the same SKU can never drive the quantity below zero.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductEntity p set p.availableQuantity = p.availableQuantity - :quantity "
+            + "where p.sku = :sku and p.availableQuantity >= :quantity")
+    int decrementAvailableQuantity(@Param("sku") String sku, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductEntity p set p.availableQuantity = p.availableQuantity + :quantity where p.sku = :sku")
+    int incrementAvailableQuantity(@Param("sku") String sku, @Param("quantity") int quantity);
 }
@@ -0,0 +1,34 @@
+package com.netflixoss.stock.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.netflixoss.stock.dto.StockChangeEvent;
+import com.netflixoss.stock.entity.StockChangeEntity;
+
+public interface StockChangeRepository extends JpaRepository<StockChangeEntity, Long> {
+
+    List<StockChangeEntity> findByStreamOffsetIsNullOrderByIdAsc(Limit limit);
+
+    @Query("select coalesce(max(c.streamOffset), 0) from StockChangeEntity c")
+    long findLastStreamOffset();
+
+    @Query("select min(c.streamOffset) from StockChangeEntity c")
+    Long findFirstStreamOffset();
+
+    @Query("select new com.netflixoss.stock.dto.StockChangeEvent(c.streamOffset, c.sku, c.delta, c.availableQuantity, c.reason, c.occurredAt) "
+            + "from StockChangeEntity c where c.streamOffset > :after order by c.streamOffset")
+    List<StockChangeEvent> findPublishedAfter(@Param("after") long after, Limit limit);
+
+    // The newest published row is always kept: it is the high-water mark the relay numbers new changes from.
+    @Modifying
+    @Query("delete from StockChangeEntity c where c.streamOffset is not null and c.occurredAt < :cutoff "
+            + "and c.streamOffset < (select max(m.streamOffset) from StockChangeEntity m)")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,8 @@
+package com.netflixoss.stock.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.netflixoss.stock.entity.StockChangeStreamEntity;
+
+public interface StockChangeStreamRepository extends JpaRepository<StockChangeStreamEntity, Long> {
+}
@@ -0,0 +1,38 @@
+package com.netflixoss.stock.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.netflixoss.stock.entity.StockReservationEntity;
+
+import jakarta.persistence.LockModeType;
+
+public interface StockReservationRepository extends JpaRepository<StockReservationEntity, Long> {
+
+    boolean existsByReservationKeyAndSku(String reservationKey, String sku);
+
+    // Confirm, release and the expiry sweeper all lock a key's rows in SKU order before changing them,
+    // so they serialize per reservation and cannot deadlock on multi-SKU holds.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservationEntity r where r.reservationKey = :reservationKey order by r.sku")
+    List<StockReservationEntity> lockByReservationKey(@Param("reservationKey") String reservationKey);
+
+    @Query("select r.reservationKey from StockReservationEntity r "
+            + "where r.status = :status and r.expiresAt < :now order by r.expiresAt")
+    List<String> findKeysExpiringBefore(@Param("status") String status, @Param("now") Instant now, Limit limit);
+
+    @Modifying
+    @Query("delete from StockReservationEntity r where r.id = :id")
+    int deleteReservation(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from StockReservationEntity r where r.status = :status and r.createdAt < :cutoff")
+    int deleteByStatusCreatedBefore(@Param("status") String status, @Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,203 @@
+package com.netflixoss.stock.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.netflixoss.stock.cache.ProductCache;
+import com.netflixoss.stock.dto.RestockFailure;
+import com.netflixoss.stock.dto.RestockFeedResult;
+import com.netflixoss.stock.dto.RestockItem;
+import com.netflixoss.stock.dto.RestockResult;
+import com.netflixoss.stock.exception.BusinessException;
+import com.netflixoss.stock.repository.ProductBatchRepository;
+
+// Multi-SKU stock lookups and restocks for warehouse feeds. Restocks are applied in chunks of `chunkSize`
+// lines, each chunk as one JDBC batch in its own transaction, so a failing chunk never undoes the others.
+@Service
+public class BulkStockService {
+
+    public static final int MAX_LOOKUP_SKUS = 1000;
+    public static final int MAX_RESTOCK_LINES = 5000;
+
+    private static final Logger log = LoggerFactory.getLogger(BulkStockService.class);
+    private static final String FEED_HEADER = "sku,qty";
+    private static final int MAX_LISTED_FEED_FAILURES = 1000;
+
+    private final ProductBatchRepository productBatchRepository;
+    private final ProductCache productCache;
+    private final StockChangeOutbox stockChangeOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkStockService(ProductBatchRepository productBatchRepository,
+                            ProductCache productCache,
+                            StockChangeOutbox stockChangeOutbox,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${stock.bulk-restock.chunk-size:500}") int chunkSize) {
+        this.productBatchRepository = productBatchRepository;
+        this.productCache = productCache;
+        this.stockChangeOutbox = stockChangeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Read straight from the table, one IN query per chunk; unknown SKUs are absent from the result.
+    public Map<String, Integer> getStockLevels(List<String> skus) {
+        if (skus.size() > MAX_LOOKUP_SKUS) {
+            throw new BusinessException("At most " + MAX_LOOKUP_SKUS + " SKUs per stock level request");
+        }
+        Map<String, Integer> quantitiesBySku = new HashMap<>();
+        List<String> distinct = skus.stream().distinct().toList();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            quantitiesBySku.putAll(productBatchRepository.findAvailableQuantities(
+                    distinct.subList(from, Math.min(from + chunkSize, distinct.size()))));
+        }
+        return quantitiesBySku;
+    }
+
+    // One result per item, in request order.
+    public List<RestockResult> restock(List<RestockItem> items) {
+        if (items.size() > MAX_RESTOCK_LINES) {
+            throw new BusinessException("At most " + MAX_RESTOCK_LINES + " lines per bulk restock; send larger feeds as a restock feed");
+        }
+        List<RestockResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            results.addAll(restockChunk(items.subList(from, Math.min(from + chunkSize, items.size()))));
+        }
+        return results;
+    }
+
+    // A CSV feed of "sku,qty" lines with an optional header. It is read one chunk at a time, so its size is
+    // not limited by memory; only failed lines are reported back.
+    public RestockFeedResult restockFeed(Reader feed) throws IOException {
+        BufferedReader reader = new BufferedReader(feed);
+        List<RestockItem> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLineNumbers = new ArrayList<>(chunkSize);
+        FeedProgress progress = new FeedProgress();
+
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && FEED_HEADER.equalsIgnoreCase(line.strip()))) {
+                continue;
+            }
+            progress.lineCount++;
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+                progress.fail(lineNumber, null, "Expected sku,qty");
+                continue;
+            }
+            String sku = line.substring(0, comma).strip();
+            try {
+                chunk.add(new RestockItem(sku, Integer.parseInt(line.substring(comma + 1).strip())));
+                chunkLineNumbers.add(lineNumber);
+            } catch (NumberFormatException ex) {
+                progress.fail(lineNumber, sku, "Invalid quantity: " + line.substring(comma + 1).strip());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                restockFeedChunk(chunk, chunkLineNumbers, progress);
+            }
+        }
+        restockFeedChunk(chunk, chunkLineNumbers, progress);
+        return new RestockFeedResult(progress.lineCount, progress.restockedCount, progress.failedCount, progress.failures);
+    }
+
+    private void restockFeedChunk(List<RestockItem> chunk, List<Integer> lineNumbers, FeedProgress progress) {
+        List<RestockResult> results = restockChunk(chunk);
+        for (int i = 0; i < results.size(); i++) {
+            RestockResult result = results.get(i);
+            if (result.isRestocked()) {
+                progress.restockedCount++;
+            } else {
+                progress.fail(lineNumbers.get(i), result.getSku(), result.getMessage());
+            }
+        }
+        chunk.clear();
+        lineNumbers.clear();
+    }
+
+    private List<RestockResult> restockChunk(List<RestockItem> items) {
+        RestockResult[] results = new RestockResult[items.size()];
+        // Repeated SKUs are merged into one update, and rows are updated in SKU order so that concurrent
+        // feeds sharing SKUs lock them in the same sequence.
+        Map<String, Integer> quantitiesBySku = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            RestockItem item = items.get(i);
+            if (item.getSku() == null || item.getSku().isBlank()) {
+                results[i] = new RestockResult(item.getSku(), false, null, "Missing sku");
+            } else if (item.getQuantity() <= 0) {
+                results[i] = new RestockResult(item.getSku(), false, null, "Quantity must be positive");
+            } else {
+                quantitiesBySku.merge(item.getSku(), item.getQuantity(), Integer::sum);
+            }
+        }
+        if (quantitiesBySku.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        Map<String, Integer> availableBySku;
+        String failure = null;
+        try {
+            availableBySku = transactionTemplate.execute(status -> applyRestock(quantitiesBySku));
+        } catch (DataAccessException ex) {
+            log.warn("Bulk restock of {} SKUs failed: {}", quantitiesBySku.size(), ex.getMessage());
+            availableBySku = Map.of();
+            failure = "Restock failed";
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            String sku = items.get(i).getSku();
+            Integer availableQuantity = availableBySku.get(sku);
+            if (availableQuantity != null) {
+                results[i] = new RestockResult(sku, true, availableQuantity, "Product restocked");
+            } else {
+                results[i] = new RestockResult(sku, false, null, failure != null ? failure : "Product not found for sku: " + sku);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Map<String, Integer> applyRestock(Map<String, Integer> quantitiesBySku) {
+        productBatchRepository.incrementAvailableQuantities(quantitiesBySku);
+        Map<String, Integer> availableBySku = productBatchRepository.findAvailableQuantities(quantitiesBySku.keySet());
+        availableBySku.forEach((sku, availableQuantity) -> {
+            productCache.evictStockLevelAfterCompletion(sku);
+            stockChangeOutbox.record(sku, quantitiesBySku.get(sku), availableQuantity, StockChangeOutbox.RESTOCK);
+        });
+        return availableBySku;
+    }
+
+    private static final class FeedProgress {
+
+        private final List<RestockFailure> failures = new ArrayList<>();
+        private int lineCount;
+        private int restockedCount;
+        private int failedCount;
+
+        private void fail(int lineNumber, String sku, String message) {
+            failedCount++;
+            if (failures.size() < MAX_LISTED_FEED_FAILURES) {
+                failures.add(new RestockFailure(lineNumber, sku, message));
+            }
+        }
+    }
+}
@@ -1,60 +1,327 @@
 package com.netflixoss.stock.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.netflixoss.stock.cache.ProductCache;
+import com.netflixoss.stock.cache.ProductCache.CatalogEntry;
+import com.netflixoss.stock.dto.ConfirmStockResponse;
+import com.netflixoss.stock.dto.ProductPageResponse;
 import com.netflixoss.stock.dto.ProductResponse;
+import com.netflixoss.stock.dto.ReleaseStockResponse;
+import com.netflixoss.stock.dto.ReserveStockBatchRequest;
+import com.netflixoss.stock.dto.ReserveStockBatchResponse;
+import com.netflixoss.stock.dto.ReserveStockBulkItem;
+import com.netflixoss.stock.dto.ReserveStockBulkRequest;
+import com.netflixoss.stock.dto.ReserveStockBulkResponse;
 import com.netflixoss.stock.dto.ReserveStockRequest;
 import com.netflixoss.stock.dto.ReserveStockResponse;
 import com.netflixoss.stock.entity.ProductEntity;
+import com.netflixoss.stock.entity.StockReservationEntity;
+import com.netflixoss.stock.exception.ConflictException;
 import com.netflixoss.stock.exception.ResourceNotFoundException;
 import com.netflixoss.stock.repository.ProductRepository;
+import com.netflixoss.stock.repository.StockReservationRepository;
 
 @Service
 public class ProductStockService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductCache productCache;
+    private final StockChangeOutbox stockChangeOutbox;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
 
-    public ProductStockService(ProductRepository productRepository) {
+    public ProductStockService(ProductRepository productRepository,
+                               StockReservationRepository stockReservationRepository,
+                               ProductCache productCache,
+                               StockChangeOutbox stockChangeOutbox,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${stock.reservations.hold-ttl:10m}") Duration holdTtl) {
         this.productRepository = productRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.productCache = productCache;
+        this.stockChangeOutbox = stockChangeOutbox;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.holdTtl = holdTtl;
+    }
+
+    public ProductPageResponse getProductPage(String afterSku, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells us whether another page exists without a count query.
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ProductEntity> products = afterSku == null || afterSku.isBlank()
+                ? productRepository.findAllByOrderBySkuAsc(fetchLimit)
+                : productRepository.findBySkuGreaterThanOrderBySkuAsc(afterSku, fetchLimit);
+
+        boolean hasMore = products.size() > pageSize;
+        List<ProductEntity> page = hasMore ? products.subList(0, pageSize) : products;
+        page.forEach(productCache::put);
+
+        String nextCursor = hasMore ? page.get(page.size() - 1).getSku() : null;
+        return new ProductPageResponse(page.stream().map(this::mapToResponse).toList(), nextCursor);
+    }
+
+    // The whole catalog in the original ApiResponse<List<ProductResponse>> shape, written row by row from a
+    // database stream, so memory stays flat however large the catalog is.
+    @Transactional(readOnly = true)
+    public void writeProductList(OutputStream outputStream, String correlationId) throws IOException {
+        JsonGenerator generator = createGenerator(outputStream);
+        ObjectWriter writer = rowWriter();
+        try (generator) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeArrayFieldStart("data");
+            writeProducts(generator, writer, false);
+            generator.writeEndArray();
+            generator.writeNullField("error");
+            generator.writeStringField("correlationId", correlationId);
+            generator.writeFieldName("timestamp");
+            writer.writeValue(generator, Instant.now());
+            generator.writeEndObject();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        try (generator) {
+            writeProducts(generator, rowWriter(), true);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    // writeValue flushes after every row by default; rows are flushed every EXPORT_FLUSH_INTERVAL instead.
+    private ObjectWriter rowWriter() {
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
-    public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .toList();
+    private void writeProducts(JsonGenerator generator, ObjectWriter writer, boolean newlineDelimited) throws IOException {
+        try (Stream<ProductResponse> products = productRepository.streamAllOrderBySku()) {
+            Iterator<ProductResponse> iterator = products.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (newlineDelimited) {
+                    generator.writeRaw('\n');
+                }
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
     }
 
     public ProductResponse getProductBySku(String sku) {
-        ProductEntity product = getBySkuOrThrow(sku);
-        return mapToResponse(product);
+        CatalogEntry catalog = productCache.getCatalog(sku);
+        if (catalog == null) {
+            ProductEntity product = getBySkuOrThrow(sku);
+            productCache.put(product);
+            return mapToResponse(product);
+        }
+        int availableQuantity = productCache.getStockLevel(sku, this::getAvailableQuantityOrThrow);
+        return new ProductResponse(sku, catalog.name(), availableQuantity, catalog.price());
+    }
+
+    // One query for the whole list; like the page reads, the rows refresh the catalog cache.
+    public List<ProductResponse> getProductsBySkus(List<String> skus) {
+        List<ProductEntity> products = productRepository.findBySkuIn(skus.stream().distinct().toList());
+        products.forEach(productCache::put);
+        return products.stream().map(this::mapToResponse).toList();
     }
 
     @Transactional
-    public ReserveStockResponse reserveStock(ReserveStockRequest request) {
-        ProductEntity product = getBySkuOrThrow(request.getSku());
+    public ReserveStockResponse reserveStock(ReserveStockRequest request, String reservationKey) {
+        return reserveLine(request.getSku(), request.getQuantity(), reservationKey);
+    }
 
-        if (product.getAvailableQuantity() < request.getQuantity()) {
-            return new ReserveStockResponse(false, product.getAvailableQuantity(), "Insufficient stock");
+    @Transactional
+    public ReserveStockBatchResponse reserveStockBatch(ReserveStockBatchRequest request, String reservationKey) {
+        // Duplicate SKUs are merged and rows are locked in SKU order, so two baskets sharing
+        // SKUs always acquire their row locks in the same sequence and cannot deadlock.
+        Map<String, Integer> quantitiesBySku = new TreeMap<>();
+        for (ReserveStockRequest item : request.getItems()) {
+            quantitiesBySku.merge(item.getSku(), item.getQuantity(), Integer::sum);
         }
 
-        product.setAvailableQuantity(product.getAvailableQuantity() - request.getQuantity());
-        productRepository.save(product);
-        return new ReserveStockResponse(true, product.getAvailableQuantity(), "Stock reserved");
+        List<ReserveStockResponse> results = new ArrayList<>(quantitiesBySku.size());
+        for (Map.Entry<String, Integer> entry : quantitiesBySku.entrySet()) {
+            ReserveStockResponse line = reserveLine(entry.getKey(), entry.getValue(), reservationKey);
+            if (!line.isReserved()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return new ReserveStockBatchResponse(false, List.of(line), "Insufficient stock for sku: " + entry.getKey());
+            }
+            results.add(line);
+        }
+        return new ReserveStockBatchResponse(true, results, "Stock reserved");
+    }
+
+    // Independent reservations from different callers sent in one request. Each item gets its own short
+    // transaction and its own result, so one conflicting or short item never fails its neighbours.
+    public ReserveStockBulkResponse reserveStockBulk(ReserveStockBulkRequest request) {
+        List<ReserveStockResponse> results = new ArrayList<>(request.getItems().size());
+        for (ReserveStockBulkItem item : request.getItems()) {
+            try {
+                results.add(transactionTemplate.execute(status ->
+                        reserveLine(item.getSku(), item.getQuantity(), item.getReservationKey())));
+            } catch (ConflictException | ResourceNotFoundException ex) {
+                results.add(new ReserveStockResponse(item.getSku(), false, null, ex.getMessage()));
+            }
+        }
+        return new ReserveStockBulkResponse(results);
+    }
+
+    // A keyed reservation is only a hold until it is confirmed; unconfirmed holds are given back by the
+    // expiry sweeper. A hold that has already expired cannot be confirmed any more.
+    @Transactional
+    public ConfirmStockResponse confirmStock(String reservationKey) {
+        List<StockReservationEntity> reservations = stockReservationRepository.lockByReservationKey(reservationKey);
+        if (reservations.isEmpty()) {
+            return new ConfirmStockResponse(reservationKey, false, List.of(), "Reservation not found or expired");
+        }
+
+        Instant now = Instant.now();
+        for (StockReservationEntity reservation : reservations) {
+            if (isExpired(reservation, now)) {
+                return new ConfirmStockResponse(reservationKey, false, List.of(), "Reservation expired");
+            }
+        }
+
+        List<ReserveStockRequest> confirmed = new ArrayList<>(reservations.size());
+        for (StockReservationEntity reservation : reservations) {
+            reservation.setStatus(StockReservationEntity.CONFIRMED);
+            reservation.setExpiresAt(null);
+            confirmed.add(new ReserveStockRequest(reservation.getSku(), reservation.getQuantity()));
+        }
+        return new ConfirmStockResponse(reservationKey, true, confirmed, "Reservation confirmed");
+    }
+
+    // Compensation for a reservation whose order was not confirmed; held and confirmed rows are both given
+    // back. The rows are locked and deleted before their quantity is returned, so concurrent or repeated
+    // releases give the stock back only once.
+    @Transactional
+    public ReleaseStockResponse releaseStock(String reservationKey) {
+        List<ReserveStockRequest> released = new ArrayList<>();
+        for (StockReservationEntity reservation : stockReservationRepository.lockByReservationKey(reservationKey)) {
+            released.add(giveBack(reservation, StockChangeOutbox.RELEASE));
+        }
+        return new ReleaseStockResponse(reservationKey, released, released.isEmpty() ? "Nothing to release" : "Stock released");
+    }
+
+    // Releases the expired holds of a batch of keys in one transaction. Rows that were confirmed or are
+    // not yet due by the time their lock is taken are left alone.
+    @Transactional
+    public int expireHolds(List<String> reservationKeys, Instant now) {
+        int expired = 0;
+        for (String reservationKey : reservationKeys) {
+            for (StockReservationEntity reservation : stockReservationRepository.lockByReservationKey(reservationKey)) {
+                if (isExpired(reservation, now)) {
+                    giveBack(reservation, StockChangeOutbox.EXPIRE);
+                    expired++;
+                }
+            }
+        }
+        return expired;
     }
 
     @Transactional
     public int restockProduct(String sku, int quantity) {
-        ProductEntity product = getBySkuOrThrow(sku);
-        product.setAvailableQuantity(product.getAvailableQuantity() + quantity);
-        productRepository.save(product);
-        return product.getAvailableQuantity();
+        if (productRepository.incrementAvailableQuantity(sku, quantity) == 0) {
+            throw new ResourceNotFoundException("Product not found for sku: " + sku);
+        }
+        productCache.evictStockLevelAfterCompletion(sku);
+        int availableQuantity = getAvailableQuantityOrThrow(sku);
+        stockChangeOutbox.record(sku, quantity, availableQuantity, StockChangeOutbox.RESTOCK);
+        return availableQuantity;
     }
 
     public int getStockLevel(String sku) {
-        return getBySkuOrThrow(sku).getAvailableQuantity();
+        return productCache.getStockLevel(sku, this::getAvailableQuantityOrThrow);
+    }
+
+    private ReserveStockResponse reserveLine(String sku, int quantity, String reservationKey) {
+        // A retried call carrying the same key replays the earlier reservation instead of taking stock twice.
+        if (reservationKey != null && stockReservationRepository.existsByReservationKeyAndSku(reservationKey, sku)) {
+            return new ReserveStockResponse(sku, true, getAvailableQuantityOrThrow(sku), "Stock already reserved");
+        }
+
+        int updated = productRepository.decrementAvailableQuantity(sku, quantity);
+        if (updated > 0) {
+            productCache.evictStockLevelAfterCompletion(sku);
+            if (reservationKey != null) {
+                recordReservation(reservationKey, sku, quantity);
+            }
+        }
+        int availableQuantity = getAvailableQuantityOrThrow(sku);
+
+        if (updated == 0) {
+            return new ReserveStockResponse(sku, false, availableQuantity, "Insufficient stock");
+        }
+        stockChangeOutbox.record(sku, -quantity, availableQuantity, StockChangeOutbox.RESERVE);
+        return new ReserveStockResponse(sku, true, availableQuantity, "Stock reserved");
+    }
+
+    // Two concurrent calls with the same key both pass the existence check; the unique (key, sku)
+    // constraint lets only one of them commit its decrement.
+    private void recordReservation(String reservationKey, String sku, int quantity) {
+        try {
+            Instant now = Instant.now();
+            stockReservationRepository.saveAndFlush(new StockReservationEntity(reservationKey, sku, quantity, now, now.plus(holdTtl)));
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Reservation already in progress for key: " + reservationKey);
+        }
+    }
+
+    private ReserveStockRequest giveBack(StockReservationEntity reservation, String reason) {
+        stockReservationRepository.deleteReservation(reservation.getId());
+        productRepository.incrementAvailableQuantity(reservation.getSku(), reservation.getQuantity());
+        productCache.evictStockLevelAfterCompletion(reservation.getSku());
+        stockChangeOutbox.record(reservation.getSku(), reservation.getQuantity(),
+                getAvailableQuantityOrThrow(reservation.getSku()), reason);
+        return new ReserveStockRequest(reservation.getSku(), reservation.getQuantity());
+    }
+
+    private boolean isExpired(StockReservationEntity reservation, Instant now) {
+        return StockReservationEntity.HELD.equals(reservation.getStatus()) && reservation.getExpiresAt().isBefore(now);
+    }
+
+    private int getAvailableQuantityOrThrow(String sku) {
+        return productRepository.findAvailableQuantityBySku(sku)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found for sku: " + sku));
     }
 
     private ProductEntity getBySkuOrThrow(String sku) {
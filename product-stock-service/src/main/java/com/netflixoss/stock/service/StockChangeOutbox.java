@@ -0,0 +1,31 @@
+package com.netflixoss.stock.service;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.netflixoss.stock.entity.StockChangeEntity;
+import com.netflixoss.stock.repository.StockChangeRepository;
+
+@Component
+public class StockChangeOutbox {
+
+    public static final String RESERVE = "RESERVE";
+    public static final String RELEASE = "RELEASE";
+    public static final String EXPIRE = "EXPIRE";
+    public static final String RESTOCK = "RESTOCK";
+
+    private final StockChangeRepository stockChangeRepository;
+
+    public StockChangeOutbox(StockChangeRepository stockChangeRepository) {
+        this.stockChangeRepository = stockChangeRepository;
+    }
+
+    // Written in the caller's transaction, so a change is published if and only if the stock update commits.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String sku, int delta, int availableQuantity, String reason) {
+        stockChangeRepository.save(new StockChangeEntity(sku, delta, availableQuantity, reason, Instant.now()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.netflixoss.stock.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.netflixoss.stock.dto.StockChangeEvent;
+import com.netflixoss.stock.entity.StockChangeEntity;
+import com.netflixoss.stock.repository.StockChangeRepository;
+
+@Component
+public class StockChangeRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(StockChangeRelay.class);
+
+    private final StockChangeRepository stockChangeRepository;
+    private final StockChangeStream stockChangeStream;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public StockChangeRelay(StockChangeRepository stockChangeRepository,
+                            StockChangeStream stockChangeStream,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${stock.changes.relay-batch-size:500}") int batchSize,
+                            @Value("${stock.changes.retention:24h}") Duration retention) {
+        this.stockChangeRepository = stockChangeRepository;
+        this.stockChangeStream = stockChangeStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    // Offsets are handed out here, by a single scheduled thread, in publish order. Sequence ids are not
+    // used as offsets because a transaction can commit after another one that drew a higher id, and a
+    // consumer resuming past that id would never see it.
+    @Scheduled(fixedDelayString = "${stock.changes.relay-interval:PT0.2S}")
+    public void relay() {
+        List<StockChangeEvent> batch;
+        do {
+            batch = transactionTemplate.execute(status -> assignOffsets());
+            if (!batch.isEmpty()) {
+                stockChangeStream.publish(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${stock.changes.purge-interval:PT1H}")
+    public void purgePublishedChanges() {
+        Integer purged = transactionTemplate.execute(status ->
+                stockChangeRepository.deletePublishedBefore(Instant.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} published stock changes older than {}", purged, retention);
+        }
+    }
+
+    private List<StockChangeEvent> assignOffsets() {
+        List<StockChangeEntity> changes = stockChangeRepository.findByStreamOffsetIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        long offset = stockChangeRepository.findLastStreamOffset();
+        List<StockChangeEvent> events = new ArrayList<>(changes.size());
+        for (StockChangeEntity change : changes) {
+            change.setStreamOffset(++offset);
+            events.add(new StockChangeEvent(change.getStreamOffset(), change.getSku(), change.getDelta(),
+                    change.getAvailableQuantity(), change.getReason(), change.getOccurredAt()));
+        }
+        return events;
+    }
+}
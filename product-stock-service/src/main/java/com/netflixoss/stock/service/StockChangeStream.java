@@ -0,0 +1,222 @@
+package com.netflixoss.stock.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.netflixoss.stock.dto.StockChangeEvent;
+import com.netflixoss.stock.dto.StockChangeStreamStart;
+import com.netflixoss.stock.entity.StockChangeStreamEntity;
+import com.netflixoss.stock.repository.StockChangeRepository;
+import com.netflixoss.stock.repository.StockChangeStreamRepository;
+
+@Component
+public class StockChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(StockChangeStream.class);
+    private static final String EVENT_NAME = "stock-change";
+    private static final String START_EVENT_NAME = "stream-start";
+    private static final int CATCH_UP_PAGE_SIZE = 500;
+
+    private final StockChangeRepository stockChangeRepository;
+    private final StockChangeStreamRepository stockChangeStreamRepository;
+    private final TaskExecutor taskExecutor;
+    private final Duration streamTimeout;
+    private final int maxPendingBatches;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile String epoch;
+
+    public StockChangeStream(StockChangeRepository stockChangeRepository,
+                             StockChangeStreamRepository stockChangeStreamRepository,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${stock.changes.stream-timeout:30m}") Duration streamTimeout,
+                             @Value("${stock.changes.max-pending-batches:1000}") int maxPendingBatches) {
+        this.stockChangeRepository = stockChangeRepository;
+        this.stockChangeStreamRepository = stockChangeStreamRepository;
+        this.taskExecutor = taskExecutor;
+        this.streamTimeout = streamTimeout;
+        this.maxPendingBatches = maxPendingBatches;
+    }
+
+    // A subscriber first gets a stream-start event, then catches up from the table, then receives live batches
+    // from the relay. A position ({epoch}:{offset}, or a bare offset in the current epoch) is resumed only if
+    // the changes after it are all still here; otherwise, or without one, the client starts at the current end
+    // of the stream and the stream-start event tells it to reset.
+    public SseEmitter subscribe(String position) {
+        String currentEpoch = epoch();
+        long head = stockChangeRepository.findLastStreamOffset();
+        Long resumeFrom = resumableOffset(position, currentEpoch, head);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, currentEpoch, resumeFrom != null ? resumeFrom : head, resumeFrom == null);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    // The epoch row is created with the database; a single relay instance per database is assumed.
+    public String epoch() {
+        String current = epoch;
+        if (current == null) {
+            synchronized (this) {
+                if (epoch == null) {
+                    epoch = stockChangeStreamRepository.findById(StockChangeStreamEntity.STREAM_ID)
+                            .orElseGet(() -> stockChangeStreamRepository.save(
+                                    new StockChangeStreamEntity(UUID.randomUUID().toString(), Instant.now())))
+                            .getEpoch();
+                }
+                current = epoch;
+            }
+        }
+        return current;
+    }
+
+    void publish(List<StockChangeEvent> batch) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(batch);
+        }
+    }
+
+    private Long resumableOffset(String position, String currentEpoch, long head) {
+        if (position == null || position.isBlank()) {
+            return null;
+        }
+        int separator = position.lastIndexOf(':');
+        long offset;
+        try {
+            offset = Long.parseLong(position.substring(separator + 1).trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        if (separator >= 0 && !position.substring(0, separator).trim().equals(currentEpoch)) {
+            return null;
+        }
+        if (offset < 0 || offset > head) {
+            return null;
+        }
+        // Offsets are gap-free, so the changes after `offset` are complete if the oldest one kept is offset + 1
+        // or earlier.
+        Long first = stockChangeRepository.findFirstStreamOffset();
+        if (offset < head && (first == null || first > offset + 1)) {
+            return null;
+        }
+        return offset;
+    }
+
+    // Sends happen on the task executor, one drain at a time per subscriber, so a slow client never stalls
+    // the relay or other subscribers.
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String epoch;
+        private final boolean reset;
+        private final Queue<List<StockChangeEvent>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingBatches = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean caughtUp;
+        private long lastSentOffset;
+
+        private Subscriber(SseEmitter emitter, String epoch, long lastSentOffset, boolean reset) {
+            this.emitter = emitter;
+            this.epoch = epoch;
+            this.lastSentOffset = lastSentOffset;
+            this.reset = reset;
+        }
+
+        private void offer(List<StockChangeEvent> batch) {
+            if (pendingBatches.incrementAndGet() > maxPendingBatches) {
+                // The client reconnects with Last-Event-ID and catches up from the table instead.
+                log.warn("Closing stock change subscriber that fell {} batches behind", maxPendingBatches);
+                close();
+                return;
+            }
+            pending.add(batch);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                taskExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (!caughtUp) {
+                    emitter.send(SseEmitter.event()
+                            .id(eventId(lastSentOffset))
+                            .name(START_EVENT_NAME)
+                            .data(new StockChangeStreamStart(epoch, lastSentOffset, reset), MediaType.APPLICATION_JSON));
+                    catchUp();
+                    caughtUp = true;
+                }
+                List<StockChangeEvent> batch;
+                while ((batch = pending.poll()) != null) {
+                    pendingBatches.decrementAndGet();
+                    send(batch);
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Dropping stock change subscriber: {}", ex.getMessage());
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void catchUp() throws IOException {
+            List<StockChangeEvent> page;
+            do {
+                page = stockChangeRepository.findPublishedAfter(lastSentOffset, Limit.of(CATCH_UP_PAGE_SIZE));
+                send(page);
+            } while (page.size() == CATCH_UP_PAGE_SIZE);
+        }
+
+        // Live batches that overlap the catch-up are skipped by offset.
+        private void send(List<StockChangeEvent> batch) throws IOException {
+            for (StockChangeEvent event : batch) {
+                if (event.getOffset() <= lastSentOffset) {
+                    continue;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(eventId(event.getOffset()))
+                        .name(EVENT_NAME)
+                        .data(event, MediaType.APPLICATION_JSON));
+                lastSentOffset = event.getOffset();
+            }
+        }
+
+        private String eventId(long offset) {
+            return epoch + ":" + offset;
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.netflixoss.stock.service;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.netflixoss.stock.entity.StockReservationEntity;
+import com.netflixoss.stock.repository.StockReservationRepository;
+
+@Component
+public class StockHoldExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockHoldExpiryJob.class);
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductStockService productStockService;
+    private final int batchSize;
+
+    public StockHoldExpiryJob(StockReservationRepository stockReservationRepository,
+                              ProductStockService productStockService,
+                              @Value("${stock.reservations.sweep-batch-size:500}") int batchSize) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.productStockService = productStockService;
+        this.batchSize = batchSize;
+    }
+
+    // Each pass reads only the holds that are already due from the (status, expires_at) index, so the
+    // cost follows the number of expired holds rather than the number of open ones.
+    @Scheduled(fixedDelayString = "${stock.reservations.sweep-interval:PT15S}")
+    public void expireHolds() {
+        Instant now = Instant.now();
+        int expired = 0;
+        List<String> keys;
+        do {
+            keys = stockReservationRepository.findKeysExpiringBefore(StockReservationEntity.HELD, now, Limit.of(batchSize));
+            if (!keys.isEmpty()) {
+                expired += productStockService.expireHolds(List.copyOf(new LinkedHashSet<>(keys)), now);
+            }
+        } while (keys.size() == batchSize);
+
+        if (expired > 0) {
+            log.info("Released {} expired stock holds", expired);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.netflixoss.stock.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.netflixoss.stock.entity.StockReservationEntity;
+import com.netflixoss.stock.repository.StockReservationRepository;
+
+@Component
+public class StockReservationPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationPurgeJob.class);
+
+    private final StockReservationRepository stockReservationRepository;
+    private final Duration retention;
+
+    public StockReservationPurgeJob(StockReservationRepository stockReservationRepository,
+                                    @Value("${stock.reservations.retention:24h}") Duration retention) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.retention = retention;
+    }
+
+    // Confirmed reservation keys only need to outlive the callers' retry window. Holds are never purged
+    // here; they are either confirmed or given back by StockHoldExpiryJob.
+    @Scheduled(fixedDelayString = "${stock.reservations.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredReservationKeys() {
+        int purged = stockReservationRepository.deleteByStatusCreatedBefore(StockReservationEntity.CONFIRMED,
+                Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} stock reservation keys older than {}", purged, retention);
+        }
+    }
+}
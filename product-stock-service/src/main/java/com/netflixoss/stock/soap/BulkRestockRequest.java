@@ -0,0 +1,25 @@
+package com.netflixoss.stock.soap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "BulkRestockRequest", namespace = StockSoapNamespace.URI)
+public class BulkRestockRequest {
+
+    @XmlElement(name = "line", required = true)
+    private List<RestockLine> lines = new ArrayList<>();
+
+    public List<RestockLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<RestockLine> lines) {
+        this.lines = lines;
+    }
+}
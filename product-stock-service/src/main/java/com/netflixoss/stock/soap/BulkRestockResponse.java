@@ -0,0 +1,47 @@
+package com.netflixoss.stock.soap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "BulkRestockResponse", namespace = StockSoapNamespace.URI)
+public class BulkRestockResponse {
+
+    @XmlElement(required = true)
+    private int restockedCount;
+
+    @XmlElement(required = true)
+    private int failedCount;
+
+    @XmlElement(name = "result")
+    private List<RestockLineResult> results = new ArrayList<>();
+
+    public int getRestockedCount() {
+        return restockedCount;
+    }
+
+    public void setRestockedCount(int restockedCount) {
+        this.restockedCount = restockedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<RestockLineResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<RestockLineResult> results) {
+        this.results = results;
+    }
+}
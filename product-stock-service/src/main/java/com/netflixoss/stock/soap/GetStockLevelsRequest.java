@@ -0,0 +1,25 @@
+package com.netflixoss.stock.soap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "GetStockLevelsRequest", namespace = StockSoapNamespace.URI)
+public class GetStockLevelsRequest {
+
+    @XmlElement(name = "sku", required = true)
+    private List<String> skus = new ArrayList<>();
+
+    public List<String> getSkus() {
+        return skus;
+    }
+
+    public void setSkus(List<String> skus) {
+        this.skus = skus;
+    }
+}
@@ -0,0 +1,25 @@
+package com.netflixoss.stock.soap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "GetStockLevelsResponse", namespace = StockSoapNamespace.URI)
+public class GetStockLevelsResponse {
+
+    @XmlElement(name = "stockLevel")
+    private List<StockLevel> stockLevels = new ArrayList<>();
+
+    public List<StockLevel> getStockLevels() {
+        return stockLevels;
+    }
+
+    public void setStockLevels(List<StockLevel> stockLevels) {
+        this.stockLevels = stockLevels;
+    }
+}
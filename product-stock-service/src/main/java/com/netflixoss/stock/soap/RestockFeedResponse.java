@@ -0,0 +1,58 @@
+package com.netflixoss.stock.soap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "RestockFeedResponse", namespace = StockSoapNamespace.URI)
+public class RestockFeedResponse {
+
+    @XmlElement(required = true)
+    private int lineCount;
+
+    @XmlElement(required = true)
+    private int restockedCount;
+
+    @XmlElement(required = true)
+    private int failedCount;
+
+    @XmlElement(name = "failure")
+    private List<RestockFeedFailure> failures = new ArrayList<>();
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    public int getRestockedCount() {
+        return restockedCount;
+    }
+
+    public void setRestockedCount(int restockedCount) {
+        this.restockedCount = restockedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<RestockFeedFailure> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<RestockFeedFailure> failures) {
+        this.failures = failures;
+    }
+}
@@ -1,12 +1,8 @@
 package com.netflixoss.stock.soap;
 
-import java.io.StringWriter;
 import java.util.UUID;
 
 import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,19 +30,25 @@ public class SoapLoggingInterceptor implements EndpointInterceptor {
     public boolean handleRequest(MessageContext messageContext, Object endpoint) {
         String correlationId = resolveCorrelationId();
         MDC.put("correlationId", correlationId);
-        log.info("SOAP IN payload={}", sanitizePayload(extractPayload(messageContext.getRequest())));
+        if (log.isInfoEnabled()) {
+            log.info("SOAP IN payload={}", extractPayload(messageContext.getRequest()));
+        }
         return true;
     }
 
     @Override
     public boolean handleResponse(MessageContext messageContext, Object endpoint) {
-        log.info("SOAP OUT payload={}", sanitizePayload(extractPayload(messageContext.getResponse())));
+        if (log.isInfoEnabled()) {
+            log.info("SOAP OUT payload={}", extractPayload(messageContext.getResponse()));
+        }
         return true;
     }
 
     @Override
     public boolean handleFault(MessageContext messageContext, Object endpoint) {
-        log.error("SOAP FAULT payload={}", sanitizePayload(extractPayload(messageContext.getResponse())));
+        if (log.isErrorEnabled()) {
+            log.error("SOAP FAULT payload={}", extractPayload(messageContext.getResponse()));
+        }
         return true;
     }
 
@@ -67,6 +69,7 @@ public class SoapLoggingInterceptor implements EndpointInterceptor {
         return UUID.randomUUID().toString();
     }
 
+    // Payloads are only rendered when the line is actually logged, and only up to MAX_BODY_LOG_SIZE characters.
     private String extractPayload(WebServiceMessage message) {
         if (!(message instanceof SoapMessage soapMessage)) {
             return "";
@@ -77,20 +80,9 @@ public class SoapLoggingInterceptor implements EndpointInterceptor {
             if (source == null) {
                 return "";
             }
-            Transformer transformer = TransformerFactory.newInstance().newTransformer();
-            StringWriter writer = new StringWriter();
-            transformer.transform(source, new StreamResult(writer));
-            return writer.toString();
+            return SoapPayloadFormatter.format(source, MAX_BODY_LOG_SIZE);
         } catch (Exception ex) {
             return "[payload-unavailable:" + ex.getMessage() + "]";
         }
     }
-
-    private String sanitizePayload(String payload) {
-        if (!StringUtils.hasText(payload)) {
-            return "";
-        }
-        String trimmed = payload.length() > MAX_BODY_LOG_SIZE ? payload.substring(0, MAX_BODY_LOG_SIZE) + "...[truncated]" : payload;
-        return trimmed.replaceAll("(?i)<(password|secret)>.*?</(password|secret)>", "<$1>***</$2>");
-    }
 }
@@ -0,0 +1,75 @@
+package com.netflixoss.stock.soap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.FaultAwareWebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Times each SOAP operation as stock.soap.requests, tagged by endpoint method and outcome. The servlet-level
+// http.server.requests timer sees all of them as one /ws request.
+@Component
+public class SoapMetricsInterceptor implements EndpointInterceptor {
+
+    private static final String START_PROPERTY = SoapMetricsInterceptor.class.getName() + ".start";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, Timer[]> timersByOperation = new ConcurrentHashMap<>();
+
+    // Spring-WS builds its interceptors while bean post-processors are still being registered; resolving the
+    // registry that early would skip its meter filters (histograms, common tags), so it is looked up on first use.
+    public SoapMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) {
+        // The boxed start time is the one allocation timing adds; it is small next to the request's own DOM.
+        messageContext.setProperty(START_PROPERTY, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (!(messageContext.getProperty(START_PROPERTY) instanceof Long start)) {
+            return;
+        }
+        boolean fault = ex != null || (messageContext.hasResponse()
+                && messageContext.getResponse() instanceof FaultAwareWebServiceMessage response && response.hasFault());
+        Timer[] timers = timersFor(endpoint instanceof MethodEndpoint method ? method.getMethod().getName() : "unknown");
+        timers[fault ? 1 : 0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] timersFor(String operation) {
+        // get() first: the computeIfAbsent lambda captures this, so it would be allocated on every call.
+        Timer[] timers = timersByOperation.get(operation);
+        return timers != null ? timers
+                : timersByOperation.computeIfAbsent(operation, key -> new Timer[] {timer(key, "SUCCESS"), timer(key, "FAULT")});
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("stock.soap.requests")
+                .description("SOAP operations served by StockEndpoint")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry.getObject());
+    }
+}
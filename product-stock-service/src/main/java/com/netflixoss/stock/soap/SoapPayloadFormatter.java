@@ -0,0 +1,202 @@
+package com.netflixoss.stock.soap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import com.netflixoss.stock.config.LogMasking;
+
+// Renders a SOAP payload for the log in one pass, stopping once maxLength characters are written. Values of
+// <password> and <secret> elements are masked as they are reached, so nothing after the limit is touched.
+// SAAJ payloads are DOM nodes and are walked in place; other sources are read with StAX.
+final class SoapPayloadFormatter {
+
+    private static final String MASK = "***";
+    private static final XMLInputFactory INPUT_FACTORY = inputFactory();
+
+    private SoapPayloadFormatter() {
+    }
+
+    static String format(Source source, int maxLength) throws XMLStreamException {
+        BoundedBuilder out = new BoundedBuilder(maxLength);
+        if (source instanceof DOMSource domSource) {
+            writeNode(domSource.getNode(), out);
+        } else {
+            writeStream(INPUT_FACTORY.createXMLStreamReader(source), out);
+        }
+        return out.toString();
+    }
+
+    private static void writeNode(Node node, BoundedBuilder out) {
+        if (node == null || out.isFull()) {
+            return;
+        }
+        switch (node.getNodeType()) {
+            case Node.DOCUMENT_NODE, Node.DOCUMENT_FRAGMENT_NODE -> writeChildren(node, out);
+            case Node.ELEMENT_NODE -> {
+                Element element = (Element) node;
+                out.append('<').append(element.getTagName());
+                NamedNodeMap attributes = element.getAttributes();
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    Node attribute = attributes.item(i);
+                    writeAttribute(attribute.getNodeName(), attribute.getNodeValue(), out);
+                }
+                out.append('>');
+                if (isSensitive(element.getLocalName() != null ? element.getLocalName() : element.getTagName())) {
+                    out.append(MASK);
+                } else {
+                    writeChildren(element, out);
+                }
+                out.append("</").append(element.getTagName()).append('>');
+            }
+            case Node.TEXT_NODE, Node.CDATA_SECTION_NODE -> out.appendEscaped(node.getNodeValue(), false);
+            default -> {
+                // comments and processing instructions are not logged
+            }
+        }
+    }
+
+    private static void writeChildren(Node parent, BoundedBuilder out) {
+        for (Node child = parent.getFirstChild(); child != null && !out.isFull(); child = child.getNextSibling()) {
+            writeNode(child, out);
+        }
+    }
+
+    private static void writeStream(XMLStreamReader reader, BoundedBuilder out) throws XMLStreamException {
+        try {
+            int depth = 0;
+            int maskedDepth = 0;
+            while (reader.hasNext() && !out.isFull()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        depth++;
+                        if (maskedDepth > 0) {
+                            continue;
+                        }
+                        out.append('<').append(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+                        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                            String prefix = reader.getNamespacePrefix(i);
+                            writeAttribute(prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix,
+                                    reader.getNamespaceURI(i), out);
+                        }
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            writeAttribute(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                                    reader.getAttributeValue(i), out);
+                        }
+                        out.append('>');
+                        if (isSensitive(reader.getLocalName())) {
+                            out.append(MASK);
+                            maskedDepth = depth;
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (maskedDepth == 0 || depth == maskedDepth) {
+                            maskedDepth = 0;
+                            out.append("</").append(qualifiedName(reader.getPrefix(), reader.getLocalName())).append('>');
+                        }
+                        depth--;
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                        if (maskedDepth == 0) {
+                            out.appendEscaped(reader.getText(), false);
+                        }
+                    }
+                    default -> {
+                        // comments, processing instructions and the document itself are not logged
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static void writeAttribute(String name, String value, BoundedBuilder out) {
+        out.append(' ').append(name).append("=\"");
+        out.appendEscaped(value, true);
+        out.append('"');
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    private static boolean isSensitive(String localName) {
+        return "password".equalsIgnoreCase(localName) || "secret".equalsIgnoreCase(localName);
+    }
+
+    private static XMLInputFactory inputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static final class BoundedBuilder {
+
+        private final StringBuilder text;
+        private final int maxLength;
+        private boolean full;
+
+        private BoundedBuilder(int maxLength) {
+            this.text = new StringBuilder(Math.min(maxLength, 512));
+            this.maxLength = maxLength;
+        }
+
+        private boolean isFull() {
+            return full;
+        }
+
+        private BoundedBuilder append(char c) {
+            if (!full) {
+                if (text.length() < maxLength) {
+                    text.append(c);
+                } else {
+                    full = true;
+                }
+            }
+            return this;
+        }
+
+        private BoundedBuilder append(String value) {
+            if (!full) {
+                int room = maxLength - text.length();
+                if (value.length() <= room) {
+                    text.append(value);
+                } else {
+                    text.append(value, 0, room);
+                    full = true;
+                }
+            }
+            return this;
+        }
+
+        private void appendEscaped(String value, boolean attribute) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i < value.length() && !full; i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '<' -> append("&lt;");
+                    case '>' -> append("&gt;");
+                    case '&' -> append("&amp;");
+                    case '"' -> append(attribute ? "&quot;" : "\"");
+                    default -> append(c);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return full ? text + LogMasking.TRUNCATED_SUFFIX : text.toString();
+        }
+    }
+}
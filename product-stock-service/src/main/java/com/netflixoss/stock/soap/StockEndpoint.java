@@ -1,20 +1,47 @@
 package com.netflixoss.stock.soap;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.mime.Attachment;
+import org.springframework.ws.mime.MimeMessage;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.netflixoss.stock.dto.RestockFailure;
+import com.netflixoss.stock.dto.RestockFeedResult;
+import com.netflixoss.stock.dto.RestockItem;
+import com.netflixoss.stock.dto.RestockResult;
+import com.netflixoss.stock.exception.BusinessException;
 import com.netflixoss.stock.exception.ResourceNotFoundException;
+import com.netflixoss.stock.service.BulkStockService;
 import com.netflixoss.stock.service.ProductStockService;
 
 @Endpoint
 public class StockEndpoint {
 
+    private static final String XOP_NAMESPACE = "http://www.w3.org/2004/08/xop/include";
+
     private final ProductStockService productStockService;
+    private final BulkStockService bulkStockService;
 
-    public StockEndpoint(ProductStockService productStockService) {
+    public StockEndpoint(ProductStockService productStockService, BulkStockService bulkStockService) {
         this.productStockService = productStockService;
+        this.bulkStockService = bulkStockService;
     }
 
     @PayloadRoot(namespace = StockSoapNamespace.URI, localPart = "GetStockLevelRequest")
@@ -43,4 +70,100 @@ public class StockEndpoint {
         response.setMessage("Product restocked");
         return response;
     }
+
+    @PayloadRoot(namespace = StockSoapNamespace.URI, localPart = "GetStockLevelsRequest")
+    @ResponsePayload
+    public GetStockLevelsResponse getStockLevels(@RequestPayload GetStockLevelsRequest request) {
+        Map<String, Integer> quantitiesBySku = bulkStockService.getStockLevels(request.getSkus());
+
+        GetStockLevelsResponse response = new GetStockLevelsResponse();
+        for (String sku : request.getSkus()) {
+            Integer quantity = quantitiesBySku.get(sku);
+            StockLevel stockLevel = new StockLevel();
+            stockLevel.setSku(sku);
+            stockLevel.setFound(quantity != null);
+            stockLevel.setQuantity(quantity != null ? quantity : 0);
+            response.getStockLevels().add(stockLevel);
+        }
+        return response;
+    }
+
+    @PayloadRoot(namespace = StockSoapNamespace.URI, localPart = "BulkRestockRequest")
+    @ResponsePayload
+    public BulkRestockResponse bulkRestock(@RequestPayload BulkRestockRequest request) {
+        List<RestockResult> results = bulkStockService.restock(request.getLines().stream()
+                .map(line -> new RestockItem(line.getSku(), line.getQty()))
+                .toList());
+
+        BulkRestockResponse response = new BulkRestockResponse();
+        for (RestockResult result : results) {
+            RestockLineResult lineResult = new RestockLineResult();
+            lineResult.setSku(result.getSku());
+            lineResult.setSuccess(result.isRestocked());
+            lineResult.setNewQuantity(result.getAvailableQuantity());
+            lineResult.setMessage(result.getMessage());
+            response.getResults().add(lineResult);
+            if (result.isRestocked()) {
+                response.setRestockedCount(response.getRestockedCount() + 1);
+            } else {
+                response.setFailedCount(response.getFailedCount() + 1);
+            }
+        }
+        return response;
+    }
+
+    // Taken as DOM rather than JAXB so an MTOM attachment is read as a stream instead of being unmarshalled
+    // into one byte array. Inline base64 content is accepted too.
+    @PayloadRoot(namespace = StockSoapNamespace.URI, localPart = "RestockFeedRequest")
+    @ResponsePayload
+    public RestockFeedResponse restockFeed(@RequestPayload Element request, MessageContext messageContext) throws IOException {
+        RestockFeedResult result;
+        try (Reader feed = new InputStreamReader(openFeed(request, messageContext), StandardCharsets.UTF_8)) {
+            result = bulkStockService.restockFeed(feed);
+        }
+
+        RestockFeedResponse response = new RestockFeedResponse();
+        response.setLineCount(result.getLineCount());
+        response.setRestockedCount(result.getRestockedCount());
+        response.setFailedCount(result.getFailedCount());
+        for (RestockFailure failure : result.getFailures()) {
+            RestockFeedFailure feedFailure = new RestockFeedFailure();
+            feedFailure.setLine(failure.getLine());
+            feedFailure.setSku(failure.getSku());
+            feedFailure.setMessage(failure.getMessage());
+            response.getFailures().add(feedFailure);
+        }
+        return response;
+    }
+
+    private InputStream openFeed(Element request, MessageContext messageContext) throws IOException {
+        Element feed = firstChildElement(request, null, "feed");
+        if (feed == null) {
+            throw new BusinessException("Missing feed element");
+        }
+        Element include = firstChildElement(feed, XOP_NAMESPACE, "Include");
+        if (include == null) {
+            return new ByteArrayInputStream(Base64.getMimeDecoder().decode(feed.getTextContent().strip()));
+        }
+
+        String href = include.getAttribute("href");
+        String contentId = URLDecoder.decode(href.startsWith("cid:") ? href.substring(4) : href, StandardCharsets.UTF_8);
+        Attachment attachment = messageContext.getRequest() instanceof MimeMessage mimeMessage
+                ? mimeMessage.getAttachment("<" + contentId + ">")
+                : null;
+        if (attachment == null) {
+            throw new BusinessException("Feed attachment not found: " + href);
+        }
+        return attachment.getInputStream();
+    }
+
+    private Element firstChildElement(Element parent, String namespace, String localName) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element && localName.equals(element.getLocalName())
+                    && (namespace == null || namespace.equals(element.getNamespaceURI()))) {
+                return element;
+            }
+        }
+        return null;
+    }
 }
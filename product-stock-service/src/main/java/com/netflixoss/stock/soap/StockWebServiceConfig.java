@@ -20,9 +20,11 @@ import java.util.List;
 public class StockWebServiceConfig extends WsConfigurerAdapter {
 
     private final SoapLoggingInterceptor soapLoggingInterceptor;
+    private final SoapMetricsInterceptor soapMetricsInterceptor;
 
-    public StockWebServiceConfig(SoapLoggingInterceptor soapLoggingInterceptor) {
+    public StockWebServiceConfig(SoapLoggingInterceptor soapLoggingInterceptor, SoapMetricsInterceptor soapMetricsInterceptor) {
         this.soapLoggingInterceptor = soapLoggingInterceptor;
+        this.soapMetricsInterceptor = soapMetricsInterceptor;
     }
 
     @Bean
@@ -50,6 +52,7 @@ public class StockWebServiceConfig extends WsConfigurerAdapter {
 
     @Override
     public void addInterceptors(List<EndpointInterceptor> interceptors) {
+        interceptors.add(soapMetricsInterceptor);
         interceptors.add(soapLoggingInterceptor);
     }
 }
@@ -0,0 +1,82 @@
+package com.netflixoss.stock.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.netflixoss.stock.dto.ReserveStockRequest;
+import com.netflixoss.stock.dto.ReserveStockResponse;
+import com.netflixoss.stock.entity.ProductEntity;
+import com.netflixoss.stock.repository.ProductRepository;
+
+// Many more single-unit reservations than there is stock, all racing on one row: exactly the available
+// quantity may succeed and the row must end at zero, never below.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:reserve-concurrency;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "logging.file.name="
+})
+class ReserveStockConcurrencyTest {
+
+    private static final String SKU = "SKU-CONCURRENT";
+    private static final int STOCK = 120;
+    private static final int RESERVATIONS = 500;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        ProductEntity product = new ProductEntity();
+        product.setSku(SKU);
+        product.setName("Concurrency test product");
+        product.setAvailableQuantity(STOCK);
+        product.setPrice(BigDecimal.ONE);
+        productRepository.save(product);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReserveStockResponse>> results = new ArrayList<>(RESERVATIONS);
+        try {
+            for (int i = 0; i < RESERVATIONS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return productStockService.reserveStock(new ReserveStockRequest(SKU, 1), null);
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<ReserveStockResponse> result : results) {
+                ReserveStockResponse response = result.get(30, TimeUnit.SECONDS);
+                assertThat(response.getRemainingQuantity()).isGreaterThanOrEqualTo(0);
+                if (response.isReserved()) {
+                    reserved++;
+                }
+            }
+
+            assertThat(reserved).isEqualTo(STOCK);
+            assertThat(productRepository.findAvailableQuantityBySku(SKU)).contains(0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
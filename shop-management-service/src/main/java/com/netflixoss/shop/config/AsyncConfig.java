@@ -0,0 +1,42 @@
+package com.netflixoss.shop.config;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Boot applies this to the auto-configured task executor in both platform and virtual-thread mode,
+    // so @Async work keeps the caller's correlationId.
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return task -> withMdc(MDC.getCopyOfContextMap(), task);
+    }
+
+    // Also used where work resumes on a thread that did not submit it, e.g. after a non-blocking stock call.
+    public static Runnable withMdc(Map<String, String> context, Runnable task) {
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (context == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(context);
+            }
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previous);
+                }
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.netflixoss.shop.controller;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
@@ -10,11 +11,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.netflixoss.shop.dto.ApiResponse;
 import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.dto.OrderPageResponse;
 import com.netflixoss.shop.dto.OrderResponse;
 import com.netflixoss.shop.service.OrderService;
 
@@ -32,10 +36,12 @@ public class ShopOrderController {
     }
 
     @PostMapping("/shops/{shopId}/orders")
-    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(@PathVariable Long shopId,
-                                                                  @Valid @RequestBody CreateOrderRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(orderService.createOrder(shopId, request), MDC.get("correlationId")));
+    public CompletableFuture<ResponseEntity<ApiResponse<OrderResponse>>> createOrder(@PathVariable Long shopId,
+                                                                                     @Valid @RequestBody CreateOrderRequest request,
+                                                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return orderService.createOrder(shopId, request, idempotencyKey)
+                .thenApply(created -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(created, MDC.get("correlationId"))));
     }
 
     @GetMapping("/orders/{orderId}")
@@ -44,7 +50,12 @@ public class ShopOrderController {
     }
 
     @GetMapping("/shops/{shopId}/orders")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> listOrdersByShop(@PathVariable Long shopId) {
-        return ResponseEntity.ok(ApiResponse.success(orderService.getOrdersByShop(shopId), MDC.get("correlationId")));
+    public ResponseEntity<ApiResponse<OrderPageResponse>> listOrdersByShop(@PathVariable Long shopId,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "50") int limit,
+                                                                           @RequestParam(required = false) Instant from,
+                                                                           @RequestParam(required = false) Instant to) {
+        OrderPageResponse page = orderService.getOrdersByShop(shopId, cursor, limit, from, to);
+        return ResponseEntity.ok(ApiResponse.success(page, MDC.get("correlationId")));
     }
 }
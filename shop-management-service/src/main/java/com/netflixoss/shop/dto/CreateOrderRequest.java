@@ -1,16 +1,20 @@
 package com.netflixoss.shop.dto;
 
+import java.util.List;
+
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
 
 public class CreateOrderRequest {
 
-    @NotBlank
     private String sku;
 
     @Min(1)
     private Integer qty;
 
+    @Valid
+    private List<OrderLineRequest> lines;
+
     public CreateOrderRequest() {
     }
 
@@ -19,6 +23,10 @@ public class CreateOrderRequest {
         this.qty = qty;
     }
 
+    public CreateOrderRequest(List<OrderLineRequest> lines) {
+        this.lines = lines;
+    }
+
     public String getSku() {
         return sku;
     }
@@ -34,4 +42,12 @@ public class CreateOrderRequest {
     public void setQty(Integer qty) {
         this.qty = qty;
     }
+
+    public List<OrderLineRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineRequest> lines) {
+        this.lines = lines;
+    }
 }
@@ -0,0 +1,39 @@
+package com.netflixoss.shop.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class OrderLineRequest {
+
+    @NotBlank
+    private String sku;
+
+    @NotNull
+    @Min(1)
+    private Integer qty;
+
+    public OrderLineRequest() {
+    }
+
+    public OrderLineRequest(String sku, Integer qty) {
+        this.sku = sku;
+        this.qty = qty;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getQty() {
+        return qty;
+    }
+
+    public void setQty(Integer qty) {
+        this.qty = qty;
+    }
+}
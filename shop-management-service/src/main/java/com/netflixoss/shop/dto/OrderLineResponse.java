@@ -0,0 +1,31 @@
+package com.netflixoss.shop.dto;
+
+public class OrderLineResponse {
+
+    private String sku;
+    private Integer qty;
+
+    public OrderLineResponse() {
+    }
+
+    public OrderLineResponse(String sku, Integer qty) {
+        this.sku = sku;
+        this.qty = qty;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getQty() {
+        return qty;
+    }
+
+    public void setQty(Integer qty) {
+        this.qty = qty;
+    }
+}
@@ -1,5 +1,7 @@
 package com.netflixoss.shop.dto;
 
+import java.util.List;
+
 public class OrderResponse {
 
     private Long orderId;
@@ -8,17 +10,20 @@ public class OrderResponse {
     private Integer qty;
     private String status;
     private String createdAt;
+    private List<OrderLineResponse> lines;
 
     public OrderResponse() {
     }
 
-    public OrderResponse(Long orderId, Long shopId, String sku, Integer qty, String status, String createdAt) {
+    public OrderResponse(Long orderId, Long shopId, String sku, Integer qty, String status, String createdAt,
+                         List<OrderLineResponse> lines) {
         this.orderId = orderId;
         this.shopId = shopId;
         this.sku = sku;
         this.qty = qty;
         this.status = status;
         this.createdAt = createdAt;
+        this.lines = lines;
     }
 
     public Long getOrderId() {
@@ -68,4 +73,12 @@ public class OrderResponse {
     public void setCreatedAt(String createdAt) {
         this.createdAt = createdAt;
     }
+
+    public List<OrderLineResponse> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineResponse> lines) {
+        this.lines = lines;
+    }
 }
@@ -0,0 +1,31 @@
+package com.netflixoss.shop.dto;
+
+public class ShopResponse {
+
+    private Long id;
+    private String name;
+
+    public ShopResponse() {
+    }
+
+    public ShopResponse(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -1,37 +1,56 @@
 package com.netflixoss.shop.entity;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "shop_orders")
+@Table(name = "shop_orders", indexes = {
+        @Index(name = "idx_shop_orders_shop_created_id", columnList = "shop_id, created_at, id"),
+        @Index(name = "idx_shop_orders_status_created", columnList = "status, created_at")})
 public class OrderEntity {
 
+    // Sequence with a pooled optimizer instead of IDENTITY: Hibernate cannot batch inserts
+    // whose keys are only known after each row is written.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shop_order_seq")
+    @SequenceGenerator(name = "shop_order_seq", sequenceName = "shop_order_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "shop_id", nullable = false)
     private Long shopId;
 
-    @Column(nullable = false)
-    private String sku;
-
-    @Column(nullable = false)
-    private Integer quantity;
-
     @Column(nullable = false)
     private String status;
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    // Key the stock reservation was taken under; product-stock-service releases by it on compensation.
+    @Column(name = "reservation_key", nullable = false)
+    private String reservationKey;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<OrderLineEntity> lines = new ArrayList<>();
+
+    public void addLine(OrderLineEntity line) {
+        line.setOrder(this);
+        lines.add(line);
+    }
+
     public Long getId() {
         return id;
     }
@@ -48,22 +67,6 @@ public class OrderEntity {
         this.shopId = shopId;
     }
 
-    public String getSku() {
-        return sku;
-    }
-
-    public void setSku(String sku) {
-        this.sku = sku;
-    }
-
-    public Integer getQuantity() {
-        return quantity;
-    }
-
-    public void setQuantity(Integer quantity) {
-        this.quantity = quantity;
-    }
-
     public String getStatus() {
         return status;
     }
@@ -79,4 +82,20 @@ public class OrderEntity {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public List<OrderLineEntity> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineEntity> lines) {
+        this.lines = lines;
+    }
 }
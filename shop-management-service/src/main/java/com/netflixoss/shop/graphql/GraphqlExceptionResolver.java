@@ -0,0 +1,36 @@
+package com.netflixoss.shop.graphql;
+
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import com.netflixoss.shop.exception.BusinessException;
+import com.netflixoss.shop.exception.ResourceNotFoundException;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+
+// GraphQL counterpart of GlobalExceptionHandler: client errors keep their message and are reported as
+// BAD_REQUEST or NOT_FOUND instead of INTERNAL_ERROR. Anything else falls through to the default handling.
+@Component
+public class GraphqlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        if (ex instanceof ResourceNotFoundException) {
+            return error(ex, env, ErrorType.NOT_FOUND);
+        }
+        if (ex instanceof BusinessException) {
+            return error(ex, env, ErrorType.BAD_REQUEST);
+        }
+        return null;
+    }
+
+    private static GraphQLError error(Throwable ex, DataFetchingEnvironment env, ErrorType errorType) {
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .build();
+    }
+}
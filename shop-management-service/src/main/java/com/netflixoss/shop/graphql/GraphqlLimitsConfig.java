@@ -0,0 +1,36 @@
+package com.netflixoss.shop.graphql;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+
+// Queries over the limits are rejected before any data fetcher runs.
+@Configuration
+public class GraphqlLimitsConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(@Value("${shop.graphql.max-depth:10}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${shop.graphql.max-complexity:3000}") int maxComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, GraphqlLimitsConfig::fieldComplexity);
+    }
+
+    // Every field costs 1 plus its selection. A field that returns a sized list (`first` or `ids`) pays for
+    // its selection once per item, so asking for more orders or more fields per order both count.
+    private static int fieldComplexity(FieldComplexityEnvironment environment, int childComplexity) {
+        Object first = environment.getArguments().get("first");
+        Object ids = environment.getArguments().get("ids");
+        int items = first instanceof Integer size ? size : ids instanceof List<?> list ? list.size() : 1;
+        return 1 + childComplexity * Math.max(1, items);
+    }
+}
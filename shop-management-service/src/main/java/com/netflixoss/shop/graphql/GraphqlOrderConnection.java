@@ -0,0 +1,70 @@
+package com.netflixoss.shop.graphql;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.netflixoss.shop.dto.OrderPageResponse;
+import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.shop.service.OrderCursor;
+
+public class GraphqlOrderConnection {
+
+    private List<Edge> edges;
+    private PageInfo pageInfo;
+
+    public static GraphqlOrderConnection from(OrderPageResponse page) {
+        GraphqlOrderConnection connection = new GraphqlOrderConnection();
+        connection.edges = page.getItems().stream()
+                .map(order -> new Edge(OrderCursor.encode(Instant.parse(order.getCreatedAt()), order.getOrderId()), order))
+                .toList();
+        String endCursor = connection.edges.isEmpty() ? null : connection.edges.get(connection.edges.size() - 1).getCursor();
+        connection.pageInfo = new PageInfo(page.getNextCursor() != null, endCursor);
+        return connection;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    public static class Edge {
+
+        private final String cursor;
+        private final OrderResponse node;
+
+        public Edge(String cursor, OrderResponse node) {
+            this.cursor = cursor;
+            this.node = node;
+        }
+
+        public String getCursor() {
+            return cursor;
+        }
+
+        public OrderResponse getNode() {
+            return node;
+        }
+    }
+
+    public static class PageInfo {
+
+        private final boolean hasNextPage;
+        private final String endCursor;
+
+        public PageInfo(boolean hasNextPage, String endCursor) {
+            this.hasNextPage = hasNextPage;
+            this.endCursor = endCursor;
+        }
+
+        public boolean isHasNextPage() {
+            return hasNextPage;
+        }
+
+        public String getEndCursor() {
+            return endCursor;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.netflixoss.shop.graphql;
+
+import java.util.Map;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+// Exposes the Idempotency-Key HTTP header to mutations through the GraphQL context.
+@Component
+public class IdempotencyKeyGraphqlInterceptor implements WebGraphQlInterceptor {
+
+    static final String CONTEXT_KEY = "idempotencyKey";
+    private static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String idempotencyKey = request.getHeaders().getFirst(IDEMPOTENCY_HEADER);
+        if (idempotencyKey != null) {
+            request.configureExecutionInput((executionInput, builder) ->
+                    builder.graphQLContext(Map.of(CONTEXT_KEY, idempotencyKey)).build());
+        }
+        return chain.next(request);
+    }
+}
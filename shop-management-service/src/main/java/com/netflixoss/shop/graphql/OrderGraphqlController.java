@@ -1,23 +1,46 @@
 package com.netflixoss.shop.graphql;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.MDC;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import com.netflixoss.shop.dto.ApiResponse;
 import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.dto.OrderLineRequest;
+import com.netflixoss.shop.dto.OrderLineResponse;
 import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.shop.dto.ShopResponse;
+import com.netflixoss.shop.exception.BusinessException;
+import com.netflixoss.shop.integration.ProductCatalogGateway;
+import com.netflixoss.shop.integration.ProductInfo;
 import com.netflixoss.shop.service.OrderService;
+import com.netflixoss.shop.service.ShopService;
 
 @Controller
 public class OrderGraphqlController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final OrderService orderService;
+    private final ShopService shopService;
+    private final ProductCatalogGateway productCatalogGateway;
 
-    public OrderGraphqlController(OrderService orderService) {
+    public OrderGraphqlController(OrderService orderService, ShopService shopService, ProductCatalogGateway productCatalogGateway) {
         this.orderService = orderService;
+        this.shopService = shopService;
+        this.productCatalogGateway = productCatalogGateway;
     }
 
     @QueryMapping
@@ -26,9 +49,77 @@ public class OrderGraphqlController {
         return GraphqlOrderPayload.from(response);
     }
 
+    @QueryMapping
+    public List<OrderResponse> orders(@Argument List<Long> ids) {
+        return orderService.getOrders(ids);
+    }
+
+    @QueryMapping
+    public ShopResponse shop(@Argument Long id) {
+        return shopService.getShop(id);
+    }
+
+    @QueryMapping
+    public GraphqlOrderConnection ordersByShop(@Argument Long shopId, @Argument Integer first, @Argument String after,
+                                               @Argument String from, @Argument String to) {
+        // The schema default only applies when `first` is omitted, not when it is passed as null.
+        return GraphqlOrderConnection.from(orderService.getOrdersByShop(shopId, after,
+                first == null ? DEFAULT_PAGE_SIZE : first, parseInstant("from", from), parseInstant("to", to)));
+    }
+
     @MutationMapping
-    public GraphqlOrderPayload createOrder(@Argument Long shopId, @Argument String sku, @Argument Integer qty) {
-        OrderResponse created = orderService.createOrder(shopId, new CreateOrderRequest(sku, qty));
-        return GraphqlOrderPayload.from(ApiResponse.success(created, MDC.get("correlationId")));
+    public CompletableFuture<GraphqlOrderPayload> createOrder(@Argument Long shopId, @Argument String sku, @Argument Integer qty,
+                                                              @Argument List<OrderLineRequest> lines,
+                                                              @ContextValue(name = IdempotencyKeyGraphqlInterceptor.CONTEXT_KEY, required = false)
+                                                              String idempotencyKey) {
+        CreateOrderRequest request = new CreateOrderRequest(sku, qty);
+        request.setLines(lines);
+        return orderService.createOrder(shopId, request, idempotencyKey)
+                .thenApply(created -> GraphqlOrderPayload.from(ApiResponse.success(created, MDC.get("correlationId"))));
+    }
+
+    // The batch mappings below are DataLoaders: every order or line resolved in one request is collected
+    // first, then loaded with a single shops query or a single product-stock-service call.
+
+    @BatchMapping(typeName = "OrderData", field = "shop")
+    public Map<OrderResponse, ShopResponse> orderShops(List<OrderResponse> orders) {
+        Map<Long, ShopResponse> shopsById = shopService.getShops(orders.stream().map(OrderResponse::getShopId).distinct().toList());
+        Map<OrderResponse, ShopResponse> shops = new HashMap<>();
+        for (OrderResponse order : orders) {
+            ShopResponse shop = shopsById.get(order.getShopId());
+            if (shop != null) {
+                shops.put(order, shop);
+            }
+        }
+        return shops;
+    }
+
+    @BatchMapping(typeName = "OrderLine", field = "product")
+    public Map<OrderLineResponse, ProductInfo> lineProducts(List<OrderLineResponse> lines) {
+        Map<String, ProductInfo> productsBySku = productCatalogGateway.findBySkus(lines.stream().map(OrderLineResponse::getSku).toList());
+        Map<OrderLineResponse, ProductInfo> products = new HashMap<>();
+        for (OrderLineResponse line : lines) {
+            ProductInfo product = productsBySku.get(line.getSku());
+            if (product != null) {
+                products.put(line, product);
+            }
+        }
+        return products;
+    }
+
+    @SchemaMapping(typeName = "Product", field = "price")
+    public String productPrice(ProductInfo product) {
+        return product.getPrice() == null ? null : product.getPrice().toPlainString();
+    }
+
+    private static Instant parseInstant(String argument, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BusinessException("Invalid " + argument + ": " + value + " (expected an ISO-8601 instant)");
+        }
     }
 }
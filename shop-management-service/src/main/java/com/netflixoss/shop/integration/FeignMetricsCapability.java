@@ -0,0 +1,77 @@
+package com.netflixoss.shop.integration;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Times each Feign call per client method and outcome as feign.client.requests. The timers of a method are
+// registered on its first call; later calls find them with a plain map read, so timing adds no allocation.
+public class FeignMetricsCapability implements Capability {
+
+    private static final String[] OUTCOMES = {"SUCCESS", "REDIRECTION", "CLIENT_ERROR", "SERVER_ERROR", "IO_ERROR"};
+    private static final int IO_ERROR = 4;
+
+    private final MeterRegistry meterRegistry;
+    private final String clientName;
+    private final Map<String, Timer[]> timersByMethod = new ConcurrentHashMap<>();
+
+    public FeignMetricsCapability(MeterRegistry meterRegistry, String clientName) {
+        this.meterRegistry = meterRegistry;
+        this.clientName = clientName;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Timer[] timers = timersFor(request);
+            long start = System.nanoTime();
+            try {
+                Response response = client.execute(request, options);
+                timers[outcomeOf(response.status())].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return response;
+            } catch (IOException | RuntimeException ex) {
+                timers[IO_ERROR].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw ex;
+            }
+        };
+    }
+
+    private Timer[] timersFor(Request request) {
+        String method = request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null
+                ? "unknown" : request.requestTemplate().methodMetadata().configKey();
+        // get() first: the computeIfAbsent lambda captures this, so it would be allocated on every call.
+        Timer[] timers = timersByMethod.get(method);
+        return timers != null ? timers : timersByMethod.computeIfAbsent(method, this::registerTimers);
+    }
+
+    private Timer[] registerTimers(String method) {
+        Timer[] timers = new Timer[OUTCOMES.length];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            timers[i] = Timer.builder("feign.client.requests")
+                    .description("Feign calls to downstream services")
+                    .tag("client", clientName)
+                    .tag("method", method)
+                    .tag("outcome", OUTCOMES[i])
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+
+    private static int outcomeOf(int status) {
+        if (status >= 500) {
+            return 3;
+        }
+        if (status >= 400) {
+            return 2;
+        }
+        return status >= 300 ? 1 : 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import com.netflixoss.shop.dto.ApiResponse;
+
+@FeignClient(name = "product-stock-service", contextId = "productCatalogClient", path = "/api/products",
+        configuration = StockFeignConfig.class)
+public interface ProductCatalogClient {
+
+    @PostMapping("/lookup")
+    ApiResponse<List<ProductInfo>> lookupProducts(@RequestBody ProductLookupRequest request);
+}
@@ -0,0 +1,52 @@
+package com.netflixoss.shop.integration;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.netflixoss.shop.dto.ApiResponse;
+import com.netflixoss.shop.exception.BusinessException;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+
+// Product details for display. Not on the order path, so it has its own breaker and no call limiter;
+// while product-stock-service is unavailable the product fields simply resolve to null. Lookups are
+// read-only, so a slow one may be hedged.
+@Component
+public class ProductCatalogGateway {
+
+    // Matches the limit of product-stock-service's lookup endpoint.
+    private static final int MAX_LOOKUP_SIZE = 500;
+
+    private final ProductCatalogClient productCatalogClient;
+    private final StockCallHedger stockCallHedger;
+
+    public ProductCatalogGateway(ProductCatalogClient productCatalogClient, StockCallHedger stockCallHedger) {
+        this.productCatalogClient = productCatalogClient;
+        this.stockCallHedger = stockCallHedger;
+    }
+
+    // One call per 500 distinct SKUs; unknown SKUs are absent from the result.
+    @CircuitBreaker(name = "productCatalog", fallbackMethod = "findBySkusFallback")
+    public Map<String, ProductInfo> findBySkus(Collection<String> skus) {
+        List<String> distinct = skus.stream().distinct().toList();
+        Map<String, ProductInfo> productsBySku = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += MAX_LOOKUP_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + MAX_LOOKUP_SIZE, distinct.size()));
+            ProductLookupRequest request = new ProductLookupRequest(chunk);
+            ApiResponse<List<ProductInfo>> response = stockCallHedger.call(() -> productCatalogClient.lookupProducts(request));
+            if (response == null || !response.isSuccess() || response.getData() == null) {
+                throw new BusinessException("Failed to look up products from product-stock-service");
+            }
+            response.getData().forEach(product -> productsBySku.put(product.getSku(), product));
+        }
+        return productsBySku;
+    }
+
+    public Map<String, ProductInfo> findBySkusFallback(Collection<String> skus, Throwable throwable) {
+        return Map.of();
+    }
+}
@@ -0,0 +1,23 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+public class ProductLookupRequest {
+
+    private List<String> skus;
+
+    public ProductLookupRequest() {
+    }
+
+    public ProductLookupRequest(List<String> skus) {
+        this.skus = skus;
+    }
+
+    public List<String> getSkus() {
+        return skus;
+    }
+
+    public void setSkus(List<String> skus) {
+        this.skus = skus;
+    }
+}
@@ -0,0 +1,26 @@
+package com.netflixoss.shop.integration;
+
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+
+import com.netflixoss.shop.dto.ApiResponse;
+
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of StockClient, backed by a load-balanced WebClient (see StockWebClientConfig).
+@HttpExchange("/api/stock")
+public interface ReactiveStockClient {
+
+    @PostExchange("/reserve")
+    Mono<ApiResponse<StockReserveResult>> reserveStock(@RequestBody StockReserveRequest request,
+                                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @PostExchange("/reserve/batch")
+    Mono<ApiResponse<StockBatchReserveResult>> reserveStockBatch(@RequestBody StockBatchReserveRequest request,
+                                                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @PostExchange("/confirm")
+    Mono<ApiResponse<StockConfirmResult>> confirmStock(@RequestBody StockConfirmRequest request);
+}
@@ -0,0 +1,74 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import com.netflixoss.shop.dto.ApiResponse;
+import com.netflixoss.shop.exception.BusinessException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Mono;
+
+// Reactive twin of StockReservationGateway. It shares the stockReservation circuit breaker, bulkhead and
+// adaptive limit, and returns the same fallback results, so callers see identical outcomes whichever client
+// is configured. The bulkhead does not wait here: without a free slot the call is rejected at once.
+@Component
+public class ReactiveStockReservationGateway {
+
+    private final ReactiveStockClient reactiveStockClient;
+    private final StockCallLimiter stockCallLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ReactiveStockReservationGateway(ReactiveStockClient reactiveStockClient,
+                                           StockCallLimiter stockCallLimiter,
+                                           CircuitBreakerRegistry circuitBreakerRegistry,
+                                           BulkheadRegistry bulkheadRegistry) {
+        this.reactiveStockClient = reactiveStockClient;
+        this.stockCallLimiter = stockCallLimiter;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("stockReservation");
+        this.bulkhead = bulkheadRegistry.bulkhead("stockReservation");
+    }
+
+    public Mono<StockReserveResult> reserve(String sku, Integer quantity, String reservationKey) {
+        return guard(stockCallLimiter.call(reactiveStockClient.reserveStock(new StockReserveRequest(sku, quantity), reservationKey))
+                .map(response -> requireData(response, "Failed to reserve stock from product-stock-service")))
+                .onErrorResume(ex -> Mono.just(new StockReserveResult(false, null, "Stock service fallback: " + ex.getMessage())));
+    }
+
+    public Mono<StockBatchReserveResult> reserveAll(List<StockReserveRequest> items, String reservationKey) {
+        return guard(stockCallLimiter.call(reactiveStockClient.reserveStockBatch(new StockBatchReserveRequest(items), reservationKey))
+                .map(response -> requireData(response, "Failed to reserve stock batch from product-stock-service")))
+                .onErrorResume(ex -> Mono.just(new StockBatchReserveResult(false, List.of(), "Stock service fallback: " + ex.getMessage())));
+    }
+
+    public Mono<Boolean> confirm(String reservationKey) {
+        return guard(stockCallLimiter.call(reactiveStockClient.confirmStock(new StockConfirmRequest(reservationKey)))
+                .map(response -> response.isSuccess() && response.getData() != null && response.getData().isConfirmed()))
+                .defaultIfEmpty(false)
+                .onErrorReturn(false);
+    }
+
+    private <T> Mono<T> guard(Mono<T> call) {
+        String correlationId = MDC.get("correlationId");
+        // Same order as the annotations on StockReservationGateway: breaker, then bulkhead, then the limit.
+        Mono<T> guarded = call.transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        return correlationId == null ? guarded
+                : guarded.contextWrite(context -> context.put(StockWebClientConfig.CORRELATION_CONTEXT_KEY, correlationId));
+    }
+
+    private static <T> T requireData(ApiResponse<T> response, String message) {
+        if (!response.isSuccess() || response.getData() == null) {
+            throw new BusinessException(message);
+        }
+        return response.getData();
+    }
+}
@@ -0,0 +1,203 @@
+package com.netflixoss.shop.integration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Eventually consistent copy of product-stock-service's available quantities, fed by its
+// /api/stock/changes stream. It is only used to fail fast; stock is still reserved remotely.
+@Component
+public class StockAvailabilityReplica implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StockAvailabilityReplica.class);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final LoadBalancerClient loadBalancerClient;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String serviceId;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(3)).build();
+    private final Map<String, Integer> availableBySku = new ConcurrentHashMap<>();
+    private volatile String epoch;
+    private volatile long lastOffset = -1;
+    private volatile boolean connected;
+    private volatile boolean running;
+    private volatile Thread consumer;
+    private volatile InputStream stream;
+
+    public StockAvailabilityReplica(LoadBalancerClient loadBalancerClient,
+                                    ObjectMapper objectMapper,
+                                    @Value("${shop.stock-replica.enabled:true}") boolean enabled,
+                                    @Value("${shop.stock-replica.service-id:product-stock-service}") String serviceId) {
+        this.loadBalancerClient = loadBalancerClient;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.serviceId = serviceId;
+    }
+
+    // Only a SKU the stream has reported at zero counts; unknown SKUs, or any SKU while the stream is
+    // down, go to product-stock-service as usual.
+    public boolean isKnownOutOfStock(String sku) {
+        return connected && Objects.equals(availableBySku.get(sku), 0);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::consume, "stock-availability-replica");
+        thread.setDaemon(true);
+        thread.start();
+        consumer = thread;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        connected = false;
+        closeStream();
+        Thread thread = consumer;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        long backoffMillis = 1000;
+        while (running) {
+            try {
+                if (follow()) {
+                    backoffMillis = 1000;
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (running) {
+                    log.debug("Stock change stream unavailable: {}", ex.getMessage());
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                connected = false;
+                closeStream();
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+        }
+    }
+
+    // Returns true once the stream was open; a stream that ends normally is simply reopened.
+    private boolean follow() throws IOException, InterruptedException {
+        ServiceInstance instance = loadBalancerClient.choose(serviceId);
+        if (instance == null) {
+            return false;
+        }
+        // Whether this position can be resumed (same epoch, still retained) is decided by the stock service,
+        // whichever instance answers; the stream-start event tells us.
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(instance.getUri() + "/api/stock/changes"))
+                .header("Accept", "text/event-stream");
+        if (epoch != null && lastOffset >= 0) {
+            request.header("Last-Event-ID", epoch + ":" + lastOffset);
+        }
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        stream = response.body();
+        if (response.statusCode() != 200) {
+            return false;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            String event = null;
+            while (running && (line = reader.readLine()) != null) {
+                if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:") && "stream-start".equals(event)) {
+                    start(objectMapper.readTree(line.substring(5)));
+                } else if (line.startsWith("data:") && "stock-change".equals(event) && connected) {
+                    apply(objectMapper.readTree(line.substring(5)));
+                } else if (line.isEmpty()) {
+                    event = null;
+                }
+            }
+        }
+        return true;
+    }
+
+    // The replica is only trusted once the stream has said where it starts. After a stock restart, a purge
+    // past our position or a switch to another database, it starts over from the reported offset.
+    private void start(JsonNode start) {
+        String streamEpoch = start.path("epoch").asText();
+        if (start.path("reset").asBoolean() || !streamEpoch.equals(epoch)) {
+            reset(streamEpoch, start.path("offset").asLong());
+        }
+        connected = true;
+    }
+
+    private void apply(JsonNode change) {
+        long offset = change.path("offset").asLong();
+        if (offset <= lastOffset) {
+            return;
+        }
+        // Offsets are gap-free, so a jump means changes were missed; what we hold can no longer be trusted.
+        if (offset != lastOffset + 1) {
+            log.warn("Stock change stream skipped from offset {} to {}; clearing the replica", lastOffset, offset);
+            reset(epoch, offset - 1);
+        }
+        availableBySku.put(change.path("sku").asText(), change.path("availableQuantity").asInt());
+        lastOffset = offset;
+    }
+
+    private void reset(String streamEpoch, long offset) {
+        availableBySku.clear();
+        epoch = streamEpoch;
+        lastOffset = offset;
+    }
+
+    private void closeStream() {
+        InputStream current = stream;
+        stream = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // already broken
+            }
+        }
+    }
+}
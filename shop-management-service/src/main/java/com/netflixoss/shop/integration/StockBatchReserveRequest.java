@@ -0,0 +1,23 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+public class StockBatchReserveRequest {
+
+    private List<StockReserveRequest> items;
+
+    public StockBatchReserveRequest() {
+    }
+
+    public StockBatchReserveRequest(List<StockReserveRequest> items) {
+        this.items = items;
+    }
+
+    public List<StockReserveRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReserveRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,43 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+public class StockBatchReserveResult {
+
+    private boolean reserved;
+    private List<StockReserveResult> items;
+    private String message;
+
+    public StockBatchReserveResult() {
+    }
+
+    public StockBatchReserveResult(boolean reserved, List<StockReserveResult> items, String message) {
+        this.reserved = reserved;
+        this.items = items;
+        this.message = message;
+    }
+
+    public boolean isReserved() {
+        return reserved;
+    }
+
+    public void setReserved(boolean reserved) {
+        this.reserved = reserved;
+    }
+
+    public List<StockReserveResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReserveResult> items) {
+        this.items = items;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
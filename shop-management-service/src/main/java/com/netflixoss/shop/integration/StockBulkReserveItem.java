@@ -0,0 +1,41 @@
+package com.netflixoss.shop.integration;
+
+public class StockBulkReserveItem {
+
+    private String sku;
+    private Integer quantity;
+    private String reservationKey;
+
+    public StockBulkReserveItem() {
+    }
+
+    public StockBulkReserveItem(String sku, Integer quantity, String reservationKey) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.reservationKey = reservationKey;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+}
@@ -0,0 +1,23 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+public class StockBulkReserveRequest {
+
+    private List<StockBulkReserveItem> items;
+
+    public StockBulkReserveRequest() {
+    }
+
+    public StockBulkReserveRequest(List<StockBulkReserveItem> items) {
+        this.items = items;
+    }
+
+    public List<StockBulkReserveItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockBulkReserveItem> items) {
+        this.items = items;
+    }
+}
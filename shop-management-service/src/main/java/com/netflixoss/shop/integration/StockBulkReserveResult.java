@@ -0,0 +1,23 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+public class StockBulkReserveResult {
+
+    private List<StockReserveResult> items;
+
+    public StockBulkReserveResult() {
+    }
+
+    public StockBulkReserveResult(List<StockReserveResult> items) {
+        this.items = items;
+    }
+
+    public List<StockReserveResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReserveResult> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,91 @@
+package com.netflixoss.shop.integration;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Sends a second copy of a read from product-stock-service when the first has not answered within the hedge
+// delay, and returns the first successful answer. Only for calls without side effects: both copies run to
+// completion. Off by default: it trades extra load for tail latency.
+@Component
+public class StockCallHedger {
+
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final Duration delay;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    public StockCallHedger(@Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${shop.stock-hedging.enabled:false}") boolean enabled,
+                           @Value("${shop.stock-hedging.delay:50ms}") Duration delay) {
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.delay = delay;
+        this.hedgesSent = Counter.builder("shop.stock.hedge.sent")
+                .description("Hedged duplicate calls sent to product-stock-service")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("shop.stock.hedge.won")
+                .description("Hedged calls that answered before the original call")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(call, taskExecutor);
+        try {
+            return primary.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Still waiting; hedge below.
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for product-stock-service", ex);
+        }
+
+        hedgesSent.increment();
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(call, taskExecutor);
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, failure) -> settle(first, result, failure, failures, false));
+        hedge.whenComplete((result, failure) -> settle(first, result, failure, failures, true));
+        try {
+            return first.join();
+        } catch (CompletionException ex) {
+            throw unwrap(ex.getCause());
+        }
+    }
+
+    // The first success wins; the call fails only once both copies have failed.
+    private <T> void settle(CompletableFuture<T> first, T result, Throwable failure, AtomicInteger failures, boolean hedged) {
+        if (failure == null) {
+            if (first.complete(result) && hedged) {
+                hedgesWon.increment();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(failure);
+        }
+    }
+
+    private RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,125 @@
+package com.netflixoss.shop.integration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+// AIMD limit on concurrent calls to product-stock-service. A call that fails or is slower than the latency
+// threshold shrinks the limit by backoff-ratio; a fast call made while the limit was at least half used
+// grows it by one. Calls over the limit are rejected at once instead of queueing behind a slow service.
+@Component
+public class StockCallLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile double limit;
+
+    public StockCallLimiter(MeterRegistry meterRegistry,
+                            @Value("${shop.stock-limiter.enabled:true}") boolean enabled,
+                            @Value("${shop.stock-limiter.initial-limit:20}") int initialLimit,
+                            @Value("${shop.stock-limiter.min-limit:4}") int minLimit,
+                            @Value("${shop.stock-limiter.max-limit:64}") int maxLimit,
+                            @Value("${shop.stock-limiter.latency-threshold:500ms}") Duration latencyThreshold,
+                            @Value("${shop.stock-limiter.backoff-ratio:0.9}") double backoffRatio) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+
+        Gauge.builder("shop.stock.limiter.limit", this, StockCallLimiter::getLimit)
+                .description("Current adaptive concurrency limit for product-stock-service calls")
+                .register(meterRegistry);
+        Gauge.builder("shop.stock.limiter.inflight", inFlight, AtomicInteger::get)
+                .description("Calls to product-stock-service currently in flight")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("shop.stock.limiter.rejected")
+                .description("Calls to product-stock-service shed by the adaptive concurrency limit")
+                .register(meterRegistry);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        int inFlightAtStart = acquire();
+        long start = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            T result = call.get();
+            overloaded = System.nanoTime() - start > latencyThresholdNanos;
+            return result;
+        } catch (FeignException.FeignClientException ex) {
+            // A 4xx is a prompt answer, not a sign of overload.
+            overloaded = false;
+            throw ex;
+        } finally {
+            inFlight.decrementAndGet();
+            adjust(inFlightAtStart, overloaded);
+        }
+    }
+
+    // The same limit for the reactive client: the slot is taken on subscription and given back when the call
+    // completes, fails or is cancelled. A cancelled call counts as slow, as it usually means a timeout.
+    public <T> Mono<T> call(Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            int inFlightAtStart = acquire();
+            long start = System.nanoTime();
+            AtomicBoolean overloaded = new AtomicBoolean(true);
+            return call
+                    .doOnSuccess(result -> overloaded.set(System.nanoTime() - start > latencyThresholdNanos))
+                    .doOnError(ex -> overloaded.set(
+                            !(ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError())))
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        adjust(inFlightAtStart, overloaded.get());
+                    });
+        });
+    }
+
+    private int acquire() {
+        while (true) {
+            int current = inFlight.get();
+            int currentLimit = getLimit();
+            if (current >= currentLimit) {
+                rejected.increment();
+                throw new StockCallRejectedException("Stock call concurrency limit of " + currentLimit + " reached");
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private synchronized void adjust(int inFlightAtStart, boolean overloaded) {
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.netflixoss.shop.integration;
+
+// Thrown without calling product-stock-service when the adaptive concurrency limit is reached.
+public class StockCallRejectedException extends RuntimeException {
+
+    public StockCallRejectedException(String message) {
+        super(message);
+    }
+}
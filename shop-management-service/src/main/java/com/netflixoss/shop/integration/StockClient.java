@@ -3,6 +3,7 @@ package com.netflixoss.shop.integration;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import com.netflixoss.shop.dto.ApiResponse;
 
@@ -10,5 +11,19 @@ import com.netflixoss.shop.dto.ApiResponse;
 public interface StockClient {
 
     @PostMapping("/reserve")
-    ApiResponse<StockReserveResult> reserveStock(@RequestBody StockReserveRequest request);
+    ApiResponse<StockReserveResult> reserveStock(@RequestBody StockReserveRequest request,
+                                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @PostMapping("/reserve/batch")
+    ApiResponse<StockBatchReserveResult> reserveStockBatch(@RequestBody StockBatchReserveRequest request,
+                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @PostMapping("/reserve/bulk")
+    ApiResponse<StockBulkReserveResult> reserveStockBulk(@RequestBody StockBulkReserveRequest request);
+
+    @PostMapping("/confirm")
+    ApiResponse<StockConfirmResult> confirmStock(@RequestBody StockConfirmRequest request);
+
+    @PostMapping("/release")
+    ApiResponse<StockReleaseResult> releaseStock(@RequestBody StockReleaseRequest request);
 }
@@ -0,0 +1,21 @@
+package com.netflixoss.shop.integration;
+
+public class StockConfirmRequest {
+
+    private String reservationKey;
+
+    public StockConfirmRequest() {
+    }
+
+    public StockConfirmRequest(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+}
@@ -0,0 +1,41 @@
+package com.netflixoss.shop.integration;
+
+public class StockConfirmResult {
+
+    private String reservationKey;
+    private boolean confirmed;
+    private String message;
+
+    public StockConfirmResult() {
+    }
+
+    public StockConfirmResult(String reservationKey, boolean confirmed, String message) {
+        this.reservationKey = reservationKey;
+        this.confirmed = confirmed;
+        this.message = message;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public boolean isConfirmed() {
+        return confirmed;
+    }
+
+    public void setConfirmed(boolean confirmed) {
+        this.confirmed = confirmed;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -9,8 +9,12 @@ import org.slf4j.MDC;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.netflixoss.shop.config.LogMasking;
+
+import feign.Capability;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class StockFeignConfig {
@@ -19,6 +23,11 @@ public class StockFeignConfig {
     private static final String CORRELATION_HEADER = "X-Correlation-Id";
     private static final int MAX_BODY_LOG_SIZE = 5 * 1024;
 
+    @Bean
+    public Capability feignMetricsCapability(MeterRegistry meterRegistry) {
+        return new FeignMetricsCapability(meterRegistry, "product-stock-service");
+    }
+
     @Bean
     public RequestInterceptor correlationRequestInterceptor() {
         return this::addCorrelationId;
@@ -39,14 +48,6 @@ public class StockFeignConfig {
                         .collect(Collectors.toMap(
                                 e -> e.getKey(),
                                 e -> String.join(",", e.getValue()))),
-                sanitizeBody(template.body() == null ? "" : new String(template.body())));
-    }
-
-    private String sanitizeBody(String body) {
-        if (body == null || body.isBlank()) {
-            return "";
-        }
-        String trimmed = body.length() > MAX_BODY_LOG_SIZE ? body.substring(0, MAX_BODY_LOG_SIZE) + "...[truncated]" : body;
-        return trimmed.replaceAll("(?i)\\\"(password|secret)\\\"\\s*:\\s*\\\".*?\\\"", "\"$1\":\"***\"");
+                LogMasking.sanitizeBody(template.body() == null ? "" : new String(template.body()), MAX_BODY_LOG_SIZE));
     }
 }
@@ -0,0 +1,21 @@
+package com.netflixoss.shop.integration;
+
+public class StockReleaseRequest {
+
+    private String reservationKey;
+
+    public StockReleaseRequest() {
+    }
+
+    public StockReleaseRequest(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+}
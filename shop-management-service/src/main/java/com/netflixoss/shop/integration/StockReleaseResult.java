@@ -0,0 +1,43 @@
+package com.netflixoss.shop.integration;
+
+import java.util.List;
+
+public class StockReleaseResult {
+
+    private String reservationKey;
+    private List<StockReserveRequest> items;
+    private String message;
+
+    public StockReleaseResult() {
+    }
+
+    public StockReleaseResult(String reservationKey, List<StockReserveRequest> items, String message) {
+        this.reservationKey = reservationKey;
+        this.items = items;
+        this.message = message;
+    }
+
+    public String getReservationKey() {
+        return reservationKey;
+    }
+
+    public void setReservationKey(String reservationKey) {
+        this.reservationKey = reservationKey;
+    }
+
+    public List<StockReserveRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReserveRequest> items) {
+        this.items = items;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,161 @@
+package com.netflixoss.shop.integration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.netflixoss.shop.exception.BusinessException;
+
+// Groups single-SKU reservations that arrive within a short window into one bulk call to
+// product-stock-service. Each caller still blocks for, and receives, only its own result.
+@Component
+public class StockReservationCoalescer implements SmartLifecycle {
+
+    private final StockReservationGateway stockReservationGateway;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final BlockingQueue<PendingReservation> queue = new LinkedBlockingQueue<>();
+    private volatile Thread collector;
+    private volatile boolean running;
+
+    public StockReservationCoalescer(StockReservationGateway stockReservationGateway,
+                                     @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                     @Value("${shop.stock-coalescing.enabled:false}") boolean enabled,
+                                     @Value("${shop.stock-coalescing.window:2ms}") Duration window,
+                                     @Value("${shop.stock-coalescing.max-batch-size:64}") int maxBatchSize,
+                                     @Value("${feign.client.config.default.readTimeout:5000}") long readTimeoutMillis) {
+        this.stockReservationGateway = stockReservationGateway;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        // A caller waits no longer than its own uncoalesced call could take: the window plus the read timeout.
+        this.maxWait = window.plusMillis(readTimeoutMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled && running;
+    }
+
+    public StockReserveResult reserve(String sku, Integer quantity, String reservationKey) {
+        PendingReservation pending = new PendingReservation(new StockBulkReserveItem(sku, quantity, reservationKey));
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            return stockReservationGateway.reserve(sku, quantity, reservationKey);
+        }
+        try {
+            return pending.result.orTimeout(maxWait.toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException ex) {
+            // The batch may still reserve this item later; the caller's compensation releases it.
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new BusinessException("Timed out waiting for a coalesced stock reservation after " + maxWait.toMillis() + " ms");
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::collect, "stock-reservation-coalescer");
+        thread.setDaemon(true);
+        thread.start();
+        collector = thread;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = collector;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Callers that queued before shutdown are still answered.
+        List<PendingReservation> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += maxBatchSize) {
+            dispatch(remaining.subList(from, Math.min(from + maxBatchSize, remaining.size())));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // The window opens with the first queued reservation and closes after `window` or `maxBatchSize`
+    // items, whichever comes first. Batches are sent on the task executor so the next one can fill meanwhile.
+    private void collect() {
+        while (running) {
+            List<PendingReservation> batch = new ArrayList<>(maxBatchSize);
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + window.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    PendingReservation next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                queue.addAll(batch);
+                return;
+            }
+            try {
+                taskExecutor.execute(() -> dispatch(batch));
+            } catch (RejectedExecutionException ex) {
+                // The executor stops taking work on context close, before this lifecycle is stopped.
+                dispatch(batch);
+            }
+        }
+    }
+
+    private void dispatch(List<PendingReservation> batch) {
+        try {
+            List<StockReserveResult> results = stockReservationGateway.reserveEach(batch.stream().map(p -> p.item).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            batch.forEach(pending -> pending.result.completeExceptionally(ex));
+        }
+    }
+
+    private static final class PendingReservation {
+
+        private final StockBulkReserveItem item;
+        private final CompletableFuture<StockReserveResult> result = new CompletableFuture<>();
+
+        private PendingReservation(StockBulkReserveItem item) {
+            this.item = item;
+        }
+    }
+}
@@ -1,31 +1,100 @@
 package com.netflixoss.shop.integration;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.netflixoss.shop.dto.ApiResponse;
 import com.netflixoss.shop.exception.BusinessException;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 
 @Component
 public class StockReservationGateway {
 
     private final StockClient stockClient;
+    private final StockCallLimiter stockCallLimiter;
 
-    public StockReservationGateway(StockClient stockClient) {
+    public StockReservationGateway(StockClient stockClient, StockCallLimiter stockCallLimiter) {
         this.stockClient = stockClient;
+        this.stockCallLimiter = stockCallLimiter;
     }
 
+    // Calls on the order path pass the bulkhead (a hard cap with a short wait) and then the adaptive limit
+    // (which sheds at once). Both rejections end in the fallback without counting against the breaker.
+
     @CircuitBreaker(name = "stockReservation", fallbackMethod = "reserveFallback")
-    public StockReserveResult reserve(String sku, Integer quantity) {
-        ApiResponse<StockReserveResult> response = stockClient.reserveStock(new StockReserveRequest(sku, quantity));
+    @Bulkhead(name = "stockReservation")
+    public StockReserveResult reserve(String sku, Integer quantity, String reservationKey) {
+        ApiResponse<StockReserveResult> response = stockCallLimiter.call(
+                () -> stockClient.reserveStock(new StockReserveRequest(sku, quantity), reservationKey));
         if (response == null || !response.isSuccess() || response.getData() == null) {
             throw new BusinessException("Failed to reserve stock from product-stock-service");
         }
         return response.getData();
     }
 
-    public StockReserveResult reserveFallback(String sku, Integer quantity, Throwable throwable) {
+    @CircuitBreaker(name = "stockReservation", fallbackMethod = "reserveAllFallback")
+    @Bulkhead(name = "stockReservation")
+    public StockBatchReserveResult reserveAll(List<StockReserveRequest> items, String reservationKey) {
+        ApiResponse<StockBatchReserveResult> response = stockCallLimiter.call(
+                () -> stockClient.reserveStockBatch(new StockBatchReserveRequest(items), reservationKey));
+        if (response == null || !response.isSuccess() || response.getData() == null) {
+            throw new BusinessException("Failed to reserve stock batch from product-stock-service");
+        }
+        return response.getData();
+    }
+
+    // One call, and one circuit breaker outcome, for a whole coalesced batch. Results are in item order.
+    @CircuitBreaker(name = "stockReservation", fallbackMethod = "reserveEachFallback")
+    @Bulkhead(name = "stockReservation")
+    public List<StockReserveResult> reserveEach(List<StockBulkReserveItem> items) {
+        ApiResponse<StockBulkReserveResult> response = stockCallLimiter.call(
+                () -> stockClient.reserveStockBulk(new StockBulkReserveRequest(items)));
+        if (response == null || !response.isSuccess() || response.getData() == null
+                || response.getData().getItems() == null || response.getData().getItems().size() != items.size()) {
+            throw new BusinessException("Failed to reserve stock bulk from product-stock-service");
+        }
+        return response.getData().getItems();
+    }
+
+    // Returns false when the hold could not be confirmed, e.g. because it expired or the call failed.
+    @CircuitBreaker(name = "stockReservation", fallbackMethod = "confirmFallback")
+    @Bulkhead(name = "stockReservation")
+    public boolean confirm(String reservationKey) {
+        ApiResponse<StockConfirmResult> response = stockCallLimiter.call(
+                () -> stockClient.confirmStock(new StockConfirmRequest(reservationKey)));
+        return response != null && response.isSuccess() && response.getData() != null && response.getData().isConfirmed();
+    }
+
+    // Returns false when the release could not be confirmed; the caller leaves the order for the recovery job to retry.
+    // Compensation is not limited: shedding it would only leave more orders for the recovery job.
+    @CircuitBreaker(name = "stockReservation", fallbackMethod = "releaseFallback")
+    public boolean release(String reservationKey) {
+        ApiResponse<StockReleaseResult> response = stockClient.releaseStock(new StockReleaseRequest(reservationKey));
+        return response != null && response.isSuccess();
+    }
+
+    public StockReserveResult reserveFallback(String sku, Integer quantity, String reservationKey, Throwable throwable) {
         return new StockReserveResult(false, null, "Stock service fallback: " + throwable.getMessage());
     }
+
+    public StockBatchReserveResult reserveAllFallback(List<StockReserveRequest> items, String reservationKey,
+                                                      Throwable throwable) {
+        return new StockBatchReserveResult(false, List.of(), "Stock service fallback: " + throwable.getMessage());
+    }
+
+    public List<StockReserveResult> reserveEachFallback(List<StockBulkReserveItem> items, Throwable throwable) {
+        String message = "Stock service fallback: " + throwable.getMessage();
+        return items.stream().map(item -> new StockReserveResult(false, null, message)).toList();
+    }
+
+    public boolean confirmFallback(String reservationKey, Throwable throwable) {
+        return false;
+    }
+
+    public boolean releaseFallback(String reservationKey, Throwable throwable) {
+        return false;
+    }
 }
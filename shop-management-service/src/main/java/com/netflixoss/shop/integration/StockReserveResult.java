@@ -2,6 +2,7 @@ package com.netflixoss.shop.integration;
 
 public class StockReserveResult {
 
+    private String sku;
     private boolean reserved;
     private Integer remainingQuantity;
     private String message;
@@ -15,6 +16,14 @@ public class StockReserveResult {
         this.message = message;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     public boolean isReserved() {
         return reserved;
     }
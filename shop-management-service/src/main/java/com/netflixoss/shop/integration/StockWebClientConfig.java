@@ -0,0 +1,76 @@
+package com.netflixoss.shop.integration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+@Configuration
+public class StockWebClientConfig {
+
+    // Reactor context key carrying the caller's correlationId, since MDC does not follow the request
+    // onto Netty threads.
+    public static final String CORRELATION_CONTEXT_KEY = "correlationId";
+
+    private static final Logger log = LoggerFactory.getLogger(StockWebClientConfig.class);
+    private static final String CORRELATION_HEADER = "X-Correlation-Id";
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder stockWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        // Same limits as the Feign client: 3s to connect, 5s for the response.
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 3000)
+                .responseTimeout(Duration.ofSeconds(5));
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(correlationFilter());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+
+    @Bean
+    public ReactiveStockClient reactiveStockClient(@LoadBalanced WebClient.Builder stockWebClientBuilder) {
+        WebClient webClient = stockWebClientBuilder.baseUrl("http://product-stock-service").build();
+        return HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient))
+                .build()
+                .createClient(ReactiveStockClient.class);
+    }
+
+    private ExchangeFilterFunction correlationFilter() {
+        return ExchangeFilterFunction.ofRequestProcessor(request -> Mono.deferContextual(context -> {
+            String correlationId = context.getOrDefault(CORRELATION_CONTEXT_KEY, UUID.randomUUID().toString());
+            // The first call is subscribed on the request thread, whose own MDC must survive this.
+            String previous = MDC.get("correlationId");
+            MDC.put("correlationId", correlationId);
+            try {
+                log.info("SVC OUT REQ destinationService=product-stock-service method={} path={}",
+                        request.method(), request.url().getPath());
+            } finally {
+                if (previous == null) {
+                    MDC.remove("correlationId");
+                } else {
+                    MDC.put("correlationId", previous);
+                }
+            }
+            return Mono.just(ClientRequest.from(request).header(CORRELATION_HEADER, correlationId).build());
+        }));
+    }
+}
@@ -1,12 +1,50 @@
 package com.netflixoss.shop.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.netflixoss.shop.entity.OrderEntity;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
 
-    List<OrderEntity> findByShopId(Long shopId);
+    // Both page queries are a range on idx_shop_orders_shop_created_id (shop_id, created_at, id), read
+    // backwards in index order, so a page costs the same however deep it is (OrderRepositoryPlanTest).
+    // The date range is always bound; OrderService fills in open ends.
+    @Query("select o from OrderEntity o where o.shopId = :shopId "
+            + "and o.createdAt >= :from and o.createdAt < :to "
+            + "order by o.createdAt desc, o.id desc")
+    List<OrderEntity> findFirstPageByShop(@Param("shopId") Long shopId,
+                                          @Param("from") Instant from,
+                                          @Param("to") Instant to,
+                                          Limit limit);
+
+    // The bare `createdAt <= cursor` bound is what the index range is built from; the or-clause only
+    // skips the rows of the cursor's own instant that were already returned.
+    @Query("select o from OrderEntity o where o.shopId = :shopId "
+            + "and o.createdAt >= :from and o.createdAt <= :cursorCreatedAt "
+            + "and (o.createdAt < :cursorCreatedAt or o.id < :cursorId) "
+            + "order by o.createdAt desc, o.id desc")
+    List<OrderEntity> findPageByShopAfter(@Param("shopId") Long shopId,
+                                          @Param("from") Instant from,
+                                          @Param("cursorCreatedAt") Instant cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Limit limit);
+
+    // Lines are fetched in the same query, so a list of orders costs one round trip.
+    @Query("select distinct o from OrderEntity o left join fetch o.lines where o.id in :ids")
+    List<OrderEntity> findAllWithLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Conditional so a late confirmation and the pending-order recovery job cannot both win.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OrderEntity o set o.status = :to where o.id = :id and o.status = :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") String from, @Param("to") String to);
+
+    List<OrderEntity> findByStatusAndCreatedAtBeforeOrderByCreatedAtAsc(String status, Instant createdBefore, Limit limit);
 }
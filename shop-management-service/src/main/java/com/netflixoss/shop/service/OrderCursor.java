@@ -0,0 +1,43 @@
+package com.netflixoss.shop.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.netflixoss.shop.exception.BusinessException;
+
+public final class OrderCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Instant createdAt;
+    private final Long orderId;
+
+    private OrderCursor(Instant createdAt, Long orderId) {
+        this.createdAt = createdAt;
+        this.orderId = orderId;
+    }
+
+    public static String encode(Instant createdAt, Long orderId) {
+        String raw = createdAt.toString() + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new OrderCursor(Instant.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Invalid order cursor: " + cursor);
+        }
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+}
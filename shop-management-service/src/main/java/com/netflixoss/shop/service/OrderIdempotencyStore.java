@@ -0,0 +1,103 @@
+package com.netflixoss.shop.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.shop.entity.IdempotencyKeyEntity;
+import com.netflixoss.shop.exception.BusinessException;
+import com.netflixoss.shop.exception.ConflictException;
+import com.netflixoss.shop.repository.IdempotencyKeyRepository;
+
+@Component
+public class OrderIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String PENDING = "PENDING";
+    private static final String COMPENSATING = "COMPENSATING";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, CompletedOrder> completed;
+    private final Duration retention;
+
+    public OrderIdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                                 @Value("${shop.idempotency.cache-size:10000}") long cacheSize,
+                                 @Value("${shop.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+        this.retention = retention;
+    }
+
+    // Returns the response of the order already created under this key, or null when the key is unused.
+    public OrderResponse findReplay(String key, String requestHash, LongFunction<OrderResponse> orderLoader) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        CompletedOrder cached = completed.getIfPresent(key);
+        if (cached != null) {
+            verifySameRequest(cached.requestHash(), requestHash);
+            return cached.response();
+        }
+
+        Optional<IdempotencyKeyEntity> existing = idempotencyKeyRepository.findById(key);
+        if (existing.isEmpty()) {
+            return null;
+        }
+        verifySameRequest(existing.get().getRequestHash(), requestHash);
+        OrderResponse response = orderLoader.apply(existing.get().getOrderId());
+        if (PENDING.equals(response.getStatus()) || COMPENSATING.equals(response.getStatus())) {
+            throw new ConflictException("A request with this Idempotency-Key is already being processed");
+        }
+        completed.put(key, new CompletedOrder(requestHash, response));
+        return response;
+    }
+
+    // Runs in the transaction that persists the pending order; a concurrent request holding the
+    // same key makes the insert fail and that whole transaction roll back.
+    public void register(String key, String requestHash, Long orderId) {
+        idempotencyKeyRepository.saveAndFlush(new IdempotencyKeyEntity(key, requestHash, orderId, Instant.now()));
+    }
+
+    public void remember(String key, String requestHash, OrderResponse response) {
+        completed.put(key, new CompletedOrder(requestHash, response));
+    }
+
+    // A rejected order frees its key so the client can retry the same request.
+    public void forgetOrder(Long orderId) {
+        idempotencyKeyRepository.deleteByOrderId(orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${shop.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} idempotency keys", purged);
+        }
+    }
+
+    private void verifySameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key was already used for a different order request");
+        }
+    }
+
+    private record CompletedOrder(String requestHash, OrderResponse response) {
+    }
+}
@@ -1,73 +1,404 @@
 package com.netflixoss.shop.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
+import com.netflixoss.shop.config.AsyncConfig;
 import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.dto.OrderLineRequest;
+import com.netflixoss.shop.dto.OrderLineResponse;
+import com.netflixoss.shop.dto.OrderPageResponse;
 import com.netflixoss.shop.dto.OrderResponse;
 import com.netflixoss.shop.entity.OrderEntity;
+import com.netflixoss.shop.entity.OrderLineEntity;
 import com.netflixoss.shop.exception.BusinessException;
+import com.netflixoss.shop.exception.ConflictException;
 import com.netflixoss.shop.exception.ResourceNotFoundException;
+import com.netflixoss.shop.integration.ReactiveStockReservationGateway;
+import com.netflixoss.shop.integration.StockAvailabilityReplica;
+import com.netflixoss.shop.integration.StockBatchReserveResult;
+import com.netflixoss.shop.integration.StockReservationCoalescer;
 import com.netflixoss.shop.integration.StockReservationGateway;
+import com.netflixoss.shop.integration.StockReserveRequest;
 import com.netflixoss.shop.integration.StockReserveResult;
 import com.netflixoss.shop.repository.OrderRepository;
 import com.netflixoss.shop.repository.ShopRepository;
 
+import reactor.core.publisher.Mono;
+
 @Service
 public class OrderService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+    private static final int MAX_PAGE_SIZE = 200;
+    // Stand-ins for an open date range, so the page queries never need a nullable catch-all.
+    private static final Instant OPEN_FROM = Instant.EPOCH;
+    private static final Instant OPEN_TO = Instant.parse("9999-01-01T00:00:00Z");
+    private static final int RECOVERY_BATCH_SIZE = 100;
+    private static final String PENDING = "PENDING";
+    private static final String CONFIRMED = "CONFIRMED";
+    // Claimed for compensation: can no longer be confirmed, and its reservation is (being) released.
+    private static final String COMPENSATING = "COMPENSATING";
+    private static final String REJECTED = "REJECTED";
+
     private final OrderRepository orderRepository;
     private final ShopRepository shopRepository;
     private final StockReservationGateway stockReservationGateway;
+    private final ReactiveStockReservationGateway reactiveStockReservationGateway;
+    private final StockReservationCoalescer stockReservationCoalescer;
+    private final StockAvailabilityReplica stockAvailabilityReplica;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Duration pendingTimeout;
+    private final boolean reactiveStockClient;
 
     public OrderService(OrderRepository orderRepository,
                         ShopRepository shopRepository,
-                        StockReservationGateway stockReservationGateway) {
+                        StockReservationGateway stockReservationGateway,
+                        ReactiveStockReservationGateway reactiveStockReservationGateway,
+                        StockReservationCoalescer stockReservationCoalescer,
+                        StockAvailabilityReplica stockAvailabilityReplica,
+                        OrderIdempotencyStore orderIdempotencyStore,
+                        PlatformTransactionManager transactionManager,
+                        @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                        @Value("${shop.orders.pending-timeout:2m}") Duration pendingTimeout,
+                        @Value("${shop.stock-client:feign}") String stockClient) {
         this.orderRepository = orderRepository;
         this.shopRepository = shopRepository;
         this.stockReservationGateway = stockReservationGateway;
+        this.reactiveStockReservationGateway = reactiveStockReservationGateway;
+        this.stockReservationCoalescer = stockReservationCoalescer;
+        this.stockAvailabilityReplica = stockAvailabilityReplica;
+        this.orderIdempotencyStore = orderIdempotencyStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.pendingTimeout = pendingTimeout;
+        this.reactiveStockClient = "reactive".equalsIgnoreCase(stockClient);
     }
 
-    @Transactional
-    public OrderResponse createOrder(Long shopId, CreateOrderRequest request) {
+    // Deliberately not @Transactional: the order is written PENDING in one short transaction, stock is
+    // reserved and its hold confirmed with no connection held, and a second short transaction confirms it.
+    // If anything after the reservation fails, the reservation is released and the order is REJECTED.
+    // With the reactive stock client the caller's thread is released while the stock calls are in flight.
+    public CompletableFuture<OrderResponse> createOrder(Long shopId, CreateOrderRequest request, String idempotencyKey) {
         if (!shopRepository.existsById(shopId)) {
             throw new ResourceNotFoundException("Shop not found for id: " + shopId);
         }
 
-        StockReserveResult reservation = stockReservationGateway.reserve(request.getSku(), request.getQty());
-        if (!reservation.isReserved()) {
-            throw new BusinessException("Order rejected, stock reservation failed: " + reservation.getMessage());
+        List<OrderLineRequest> lines = resolveLines(request);
+        String requestHash = idempotencyKey == null ? null : requestHash(shopId, lines);
+        if (idempotencyKey != null) {
+            OrderResponse replay = orderIdempotencyStore.findReplay(idempotencyKey, requestHash, this::readOrder);
+            if (replay != null) {
+                return CompletableFuture.completedFuture(replay);
+            }
         }
 
-        OrderEntity order = new OrderEntity();
-        order.setShopId(shopId);
-        order.setSku(request.getSku());
-        order.setQuantity(request.getQty());
-        order.setStatus("CONFIRMED");
-        order.setCreatedAt(Instant.now());
+        // Fail fast without a remote round trip for SKUs the stock replica has seen sell out.
+        for (OrderLineRequest line : lines) {
+            if (stockAvailabilityReplica.isKnownOutOfStock(line.getSku())) {
+                throw new BusinessException("Order rejected, stock reservation failed: Insufficient stock for sku: " + line.getSku());
+            }
+        }
 
-        OrderEntity saved = orderRepository.save(order);
-        return map(saved);
+        OrderEntity pending = persistPending(shopId, lines, idempotencyKey, requestHash);
+        CompletableFuture<Void> reserved = reserveAndHold(lines, pending.getReservationKey());
+        if (reserved.isDone()) {
+            return reserved.handle((ignored, failure) -> completeOrder(pending, failure, idempotencyKey, requestHash));
+        }
+        // Reactive completions arrive on Netty threads; the confirm transaction must not run there.
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return reserved.handleAsync((ignored, failure) -> completeOrder(pending, failure, idempotencyKey, requestHash),
+                task -> taskExecutor.execute(AsyncConfig.withMdc(context, task)));
+    }
+
+    // Orders left PENDING by a crash are compensated once they are older than any in-flight reservation could
+    // be; orders left COMPENSATING by a failed release have their release retried.
+    @Scheduled(fixedDelayString = "${shop.orders.recovery-interval:PT30S}")
+    public void recoverStalePendingOrders() {
+        Instant now = Instant.now();
+        List<OrderEntity> stale = orderRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAtAsc(PENDING,
+                now.minus(pendingTimeout), Limit.of(RECOVERY_BATCH_SIZE));
+        for (OrderEntity order : stale) {
+            // A slow request may still confirm the order; only the side that wins the claim may release.
+            if (claimForCompensation(order.getId())) {
+                releaseAndReject(order.getId(), order.getReservationKey());
+            }
+        }
+        List<OrderEntity> compensating = orderRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAtAsc(COMPENSATING,
+                now, Limit.of(RECOVERY_BATCH_SIZE));
+        for (OrderEntity order : compensating) {
+            releaseAndReject(order.getId(), order.getReservationKey());
+        }
     }
 
+    @Transactional(readOnly = true)
     public OrderResponse getOrder(Long orderId) {
-        return orderRepository.findById(orderId)
+        return loadOrder(orderId);
+    }
+
+    // Orders in the requested order; unknown ids are skipped.
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrders(List<Long> orderIds) {
+        if (orderIds.size() > MAX_PAGE_SIZE) {
+            throw new BusinessException("At most " + MAX_PAGE_SIZE + " orders per request");
+        }
+        Map<Long, OrderEntity> ordersById = orderRepository.findAllWithLinesByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(OrderEntity::getId, Function.identity()));
+        return orderIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
                 .map(this::map)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found for id: " + orderId));
+                .toList();
     }
 
-    public List<OrderResponse> getOrdersByShop(Long shopId) {
-        if (!shopRepository.existsById(shopId)) {
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByShop(Long shopId, String cursor, int limit, Instant from, Instant to) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        OrderCursor position = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        Instant lower = from != null ? from : OPEN_FROM;
+        Instant upper = to != null ? to : OPEN_TO;
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        // A cursor at or past `to` is no tighter than `to` itself, so that page is a first page.
+        List<OrderEntity> orders = position == null || !position.getCreatedAt().isBefore(upper)
+                ? orderRepository.findFirstPageByShop(shopId, lower, upper, fetchLimit)
+                : orderRepository.findPageByShopAfter(shopId, lower, position.getCreatedAt(), position.getOrderId(), fetchLimit);
+        // Only an empty page needs to tell an unknown shop from one without matching orders.
+        if (orders.isEmpty() && !shopRepository.existsById(shopId)) {
             throw new ResourceNotFoundException("Shop not found for id: " + shopId);
         }
-        return orderRepository.findByShopId(shopId).stream().map(this::map).toList();
+
+        boolean hasMore = orders.size() > pageSize;
+        List<OrderEntity> page = hasMore ? orders.subList(0, pageSize) : orders;
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderEntity last = page.get(page.size() - 1);
+            nextCursor = OrderCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new OrderPageResponse(page.stream().map(this::map).toList(), nextCursor);
+    }
+
+    private OrderEntity persistPending(Long shopId, List<OrderLineRequest> lines, String idempotencyKey,
+                                       String requestHash) {
+        OrderEntity order = new OrderEntity();
+        order.setShopId(shopId);
+        order.setStatus(PENDING);
+        order.setCreatedAt(Instant.now());
+        // The client's key doubles as the reservation key so product-stock-service de-duplicates retries too.
+        order.setReservationKey(idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString());
+        lines.forEach(line -> order.addLine(new OrderLineEntity(line.getSku(), line.getQty())));
+
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderEntity saved = orderRepository.save(order);
+                if (idempotencyKey != null) {
+                    orderIdempotencyStore.register(idempotencyKey, requestHash, saved.getId());
+                }
+                return saved;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("A request with this Idempotency-Key is already being processed");
+        }
+    }
+
+    private OrderResponse confirm(Long orderId) {
+        if (orderRepository.transitionStatus(orderId, PENDING, CONFIRMED) == 0) {
+            throw new BusinessException("Order " + orderId + " expired before it could be confirmed");
+        }
+        return loadOrder(orderId);
+    }
+
+    // Called by the request whose reservation or confirmation failed, so the order cannot be CONFIRMED. If
+    // recovery claimed it first, its release may have run before this request's reservation reached the
+    // stock side, so the reservation is released here as well; releasing a key twice is safe.
+    private void compensate(Long orderId, String reservationKey) {
+        claimForCompensation(orderId);
+        releaseAndReject(orderId, reservationKey);
+    }
+
+    // PENDING -> COMPENSATING before any stock is released, so a late confirm() fails instead of confirming
+    // an order whose stock has been given back.
+    private boolean claimForCompensation(Long orderId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    orderRepository.transitionStatus(orderId, PENDING, COMPENSATING) > 0));
+        } catch (RuntimeException ex) {
+            log.warn("Could not claim order {} for compensation, leaving it PENDING for recovery", orderId, ex);
+            return false;
+        }
+    }
+
+    private void releaseAndReject(Long orderId, String reservationKey) {
+        if (!stockReservationGateway.release(reservationKey)) {
+            log.warn("Stock release failed for order {}, leaving it for recovery", orderId);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (orderRepository.transitionStatus(orderId, COMPENSATING, REJECTED) > 0) {
+                    orderIdempotencyStore.forgetOrder(orderId);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Could not mark order {} as REJECTED, leaving it COMPENSATING for recovery", orderId, ex);
+        }
+    }
+
+    private List<OrderLineRequest> resolveLines(CreateOrderRequest request) {
+        List<OrderLineRequest> lines = request.getLines();
+        if (lines == null || lines.isEmpty()) {
+            if (request.getSku() == null || request.getSku().isBlank()) {
+                throw new BusinessException("Order must contain a sku and qty or at least one line");
+            }
+            lines = List.of(new OrderLineRequest(request.getSku(), request.getQty()));
+        }
+
+        for (OrderLineRequest line : lines) {
+            if (line.getSku() == null || line.getSku().isBlank() || line.getQty() == null || line.getQty() < 1) {
+                throw new BusinessException("Every order line needs a sku and a qty of at least 1");
+            }
+        }
+        return lines;
+    }
+
+    private OrderResponse completeOrder(OrderEntity pending, Throwable failure, String idempotencyKey, String requestHash) {
+        if (failure != null) {
+            // A timed-out or short-circuited call may still have reserved stock, so release regardless.
+            compensate(pending.getId(), pending.getReservationKey());
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(cause);
+        }
+
+        OrderResponse confirmed;
+        try {
+            confirmed = transactionTemplate.execute(status -> confirm(pending.getId()));
+        } catch (RuntimeException ex) {
+            compensate(pending.getId(), pending.getReservationKey());
+            throw ex;
+        }
+        if (idempotencyKey != null) {
+            orderIdempotencyStore.remember(idempotencyKey, requestHash, confirmed);
+        }
+        return confirmed;
+    }
+
+    // The reservation is only a hold on the stock side until it is confirmed, so both calls must succeed.
+    private CompletableFuture<Void> reserveAndHold(List<OrderLineRequest> lines, String reservationKey) {
+        if (reactiveStockClient) {
+            return reserveStockReactive(lines, reservationKey)
+                    .then(reactiveStockReservationGateway.confirm(reservationKey))
+                    .doOnNext(this::requireHoldConfirmed)
+                    .then()
+                    .toFuture();
+        }
+        try {
+            reserveStock(lines, reservationKey);
+            requireHoldConfirmed(stockReservationGateway.confirm(reservationKey));
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private void reserveStock(List<OrderLineRequest> lines, String reservationKey) {
+        if (lines.size() == 1) {
+            OrderLineRequest line = lines.get(0);
+            StockReserveResult reservation = stockReservationCoalescer.isEnabled()
+                    ? stockReservationCoalescer.reserve(line.getSku(), line.getQty(), reservationKey)
+                    : stockReservationGateway.reserve(line.getSku(), line.getQty(), reservationKey);
+            requireReserved(reservation.isReserved(), reservation.getMessage());
+            return;
+        }
+
+        StockBatchReserveResult reservation = stockReservationGateway.reserveAll(toReserveRequests(lines), reservationKey);
+        requireReserved(reservation.isReserved(), reservation.getMessage());
+    }
+
+    private Mono<Void> reserveStockReactive(List<OrderLineRequest> lines, String reservationKey) {
+        if (lines.size() == 1) {
+            OrderLineRequest line = lines.get(0);
+            return reactiveStockReservationGateway.reserve(line.getSku(), line.getQty(), reservationKey)
+                    .doOnNext(reservation -> requireReserved(reservation.isReserved(), reservation.getMessage()))
+                    .then();
+        }
+        return reactiveStockReservationGateway.reserveAll(toReserveRequests(lines), reservationKey)
+                .doOnNext(reservation -> requireReserved(reservation.isReserved(), reservation.getMessage()))
+                .then();
+    }
+
+    private List<StockReserveRequest> toReserveRequests(List<OrderLineRequest> lines) {
+        return lines.stream().map(line -> new StockReserveRequest(line.getSku(), line.getQty())).toList();
+    }
+
+    private void requireReserved(boolean reserved, String message) {
+        if (!reserved) {
+            throw new BusinessException("Order rejected, stock reservation failed: " + message);
+        }
+    }
+
+    private void requireHoldConfirmed(boolean confirmed) {
+        if (!confirmed) {
+            throw new BusinessException("Order rejected, stock hold could not be confirmed");
+        }
+    }
+
+    private String requestHash(Long shopId, List<OrderLineRequest> lines) {
+        StringBuilder fingerprint = new StringBuilder().append(shopId);
+        for (OrderLineRequest line : lines) {
+            fingerprint.append('|').append(line.getSku()).append('=').append(line.getQty());
+        }
+        return DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private OrderResponse readOrder(long orderId) {
+        return transactionTemplate.execute(status -> loadOrder(orderId));
+    }
+
+    private OrderResponse loadOrder(long orderId) {
+        return orderRepository.findById(orderId)
+                .map(this::map)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found for id: " + orderId));
     }
 
     private OrderResponse map(OrderEntity order) {
-        return new OrderResponse(order.getId(), order.getShopId(), order.getSku(), order.getQuantity(), order.getStatus(),
-                order.getCreatedAt().toString());
+        List<OrderLineResponse> lines = order.getLines().stream()
+                .map(line -> new OrderLineResponse(line.getSku(), line.getQuantity()))
+                .toList();
+        // sku/qty stay populated for single-line orders so existing clients keep working.
+        OrderLineResponse single = lines.size() == 1 ? lines.get(0) : null;
+        return new OrderResponse(order.getId(), order.getShopId(),
+                single == null ? null : single.getSku(),
+                single == null ? null : single.getQty(),
+                order.getStatus(), order.getCreatedAt().toString(), lines);
     }
 }
@@ -0,0 +1,43 @@
+package com.netflixoss.shop.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.netflixoss.shop.dto.ShopResponse;
+import com.netflixoss.shop.entity.ShopEntity;
+import com.netflixoss.shop.exception.ResourceNotFoundException;
+import com.netflixoss.shop.repository.ShopRepository;
+
+@Service
+public class ShopService {
+
+    private final ShopRepository shopRepository;
+
+    public ShopService(ShopRepository shopRepository) {
+        this.shopRepository = shopRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ShopResponse getShop(Long shopId) {
+        return shopRepository.findById(shopId)
+                .map(this::map)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop not found for id: " + shopId));
+    }
+
+    // One query for any number of ids; unknown ids are absent from the result.
+    @Transactional(readOnly = true)
+    public Map<Long, ShopResponse> getShops(Collection<Long> shopIds) {
+        return shopRepository.findAllById(shopIds).stream()
+                .map(this::map)
+                .collect(Collectors.toMap(ShopResponse::getId, Function.identity()));
+    }
+
+    private ShopResponse map(ShopEntity shop) {
+        return new ShopResponse(shop.getId(), shop.getName());
+    }
+}
@@ -0,0 +1,105 @@
+package com.netflixoss.shop.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.netflixoss.shop.exception.BusinessException;
+
+// Reservations queued within one window go out as one bulk call, and each caller gets the result at its own
+// position in that call. A caller whose batch does not answer gives up after the window plus the read timeout.
+class StockReservationCoalescerTest {
+
+    private final RecordingGateway gateway = new RecordingGateway();
+    private StockReservationCoalescer coalescer;
+
+    @AfterEach
+    void stop() {
+        gateway.answer.countDown();
+        if (coalescer != null) {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    void oneBulkCallAnswersEachCallerWithItsOwnResult() throws Exception {
+        coalescer = start(Duration.ofMillis(500), 4, 5000);
+        gateway.answer.countDown();
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<StockReserveResult>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String sku = "SKU-" + i;
+                int quantity = i + 1;
+                results.add(callers.submit(() -> coalescer.reserve(sku, quantity, "key-" + sku)));
+            }
+            for (int i = 0; i < 4; i++) {
+                StockReserveResult result = results.get(i).get(10, TimeUnit.SECONDS);
+                assertThat(result.getMessage()).isEqualTo("SKU-" + i + " x" + (i + 1) + " as key-SKU-" + i);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(gateway.batches).singleElement().satisfies(batch -> assertThat(batch)
+                .extracting(StockBulkReserveItem::getSku)
+                .containsExactlyInAnyOrder("SKU-0", "SKU-1", "SKU-2", "SKU-3"));
+    }
+
+    @Test
+    void callerStopsWaitingAfterTheReadTimeout() {
+        coalescer = start(Duration.ofMillis(1), 64, 200);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> coalescer.reserve("SKU-1", 1, "slow-key"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    private StockReservationCoalescer start(Duration window, int maxBatchSize, long readTimeoutMillis) {
+        StockReservationCoalescer started = new StockReservationCoalescer(gateway, new SimpleAsyncTaskExecutor(),
+                true, window, maxBatchSize, readTimeoutMillis);
+        started.start();
+        return started;
+    }
+
+    // Answers each item with a message naming it, once `answer` is released.
+    private static final class RecordingGateway extends StockReservationGateway {
+
+        private final List<List<StockBulkReserveItem>> batches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch answer = new CountDownLatch(1);
+
+        private RecordingGateway() {
+            super(null, null);
+        }
+
+        @Override
+        public List<StockReserveResult> reserveEach(List<StockBulkReserveItem> items) {
+            batches.add(List.copyOf(items));
+            try {
+                answer.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return items.stream()
+                    .map(item -> new StockReserveResult(true, 100,
+                            item.getSku() + " x" + item.getQuantity() + " as " + item.getReservationKey()))
+                    .toList();
+        }
+    }
+}
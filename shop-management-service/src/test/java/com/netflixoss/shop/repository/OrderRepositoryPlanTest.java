@@ -0,0 +1,122 @@
+package com.netflixoss.shop.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.netflixoss.shop.entity.OrderEntity;
+
+// The shop order pages must be index range scans on (shop_id, created_at, id), not a scan of the shop's
+// orders: the SQL Hibernate generates for both page queries is EXPLAINed on H2. Paging through orders that
+// share a timestamp must return each of them exactly once.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:order-plan;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.netflixoss.shop.repository.OrderRepositoryPlanTest$CapturingInspector",
+        "shop.stock-replica.enabled=false",
+        "logging.file.name="
+})
+class OrderRepositoryPlanTest {
+
+    private static final String INDEX = "IDX_SHOP_ORDERS_SHOP_CREATED_ID";
+    private static final Instant FROM = Instant.EPOCH;
+    private static final Instant TO = Instant.parse("9999-01-01T00:00:00Z");
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedOrders() {
+        orderRepository.deleteAll();
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // Shop 1 gets every third order, and pairs of its orders share a timestamp.
+            OrderEntity order = new OrderEntity();
+            order.setShopId(i % 3 == 0 ? 1L : 2L);
+            order.setStatus("CONFIRMED");
+            order.setCreatedAt(BASE.plusSeconds(i / 6));
+            order.setReservationKey("plan-" + i);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void firstPageIsAnIndexRangeScan() {
+        orderRepository.findFirstPageByShop(1L, FROM, TO, Limit.of(21));
+
+        String plan = explain(lastOrderQuery(), 1L, Timestamp.from(FROM), Timestamp.from(TO));
+        assertThat(plan).contains(INDEX).contains("SHOP_ID = ").contains("CREATED_AT >= ").contains("CREATED_AT < ");
+    }
+
+    @Test
+    void cursorPageIsAnIndexRangeScan() {
+        Instant cursor = BASE.plusSeconds(20);
+        orderRepository.findPageByShopAfter(1L, FROM, cursor, 500L, Limit.of(21));
+
+        String plan = explain(lastOrderQuery(), 1L, Timestamp.from(FROM), Timestamp.from(cursor), Timestamp.from(cursor), 500L);
+        assertThat(plan).contains(INDEX).contains("SHOP_ID = ").contains("CREATED_AT <= ");
+    }
+
+    @Test
+    void pagesReturnEveryOrderOnceNewestFirst() {
+        List<Long> seen = new ArrayList<>();
+        List<OrderEntity> page = orderRepository.findFirstPageByShop(1L, FROM, TO, Limit.of(7));
+        while (!page.isEmpty()) {
+            page.forEach(order -> seen.add(order.getId()));
+            OrderEntity last = page.get(page.size() - 1);
+            page = orderRepository.findPageByShopAfter(1L, FROM, last.getCreatedAt(), last.getId(), Limit.of(7));
+        }
+
+        List<Long> expected = orderRepository.findAll().stream()
+                .filter(order -> order.getShopId() == 1L)
+                .sorted((a, b) -> a.getCreatedAt().equals(b.getCreatedAt())
+                        ? b.getId().compareTo(a.getId()) : b.getCreatedAt().compareTo(a.getCreatedAt()))
+                .map(OrderEntity::getId)
+                .toList();
+        assertThat(seen).hasSize(100).isEqualTo(expected);
+    }
+
+    private String lastOrderQuery() {
+        return CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains("from shop_orders"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, parameters));
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
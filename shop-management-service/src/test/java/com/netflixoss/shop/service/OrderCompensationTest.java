@@ -0,0 +1,116 @@
+package com.netflixoss.shop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.entity.OrderEntity;
+import com.netflixoss.shop.exception.BusinessException;
+import com.netflixoss.shop.integration.StockReservationGateway;
+import com.netflixoss.shop.integration.StockReserveResult;
+import com.netflixoss.shop.repository.IdempotencyKeyRepository;
+import com.netflixoss.shop.repository.OrderRepository;
+
+// Orders whose stock hold fails after the reservation: the reservation is released and the order REJECTED,
+// whether the request or the recovery job gets there first, and a failed release is retried by recovery.
+// With a zero pending timeout, every PENDING order is stale to the recovery job, which only runs when called.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:order-compensation;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "shop.stock-replica.enabled=false",
+        "shop.orders.pending-timeout=0s",
+        "shop.orders.recovery-interval=PT1H",
+        "logging.file.name="
+})
+class OrderCompensationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @MockBean
+    private StockReservationGateway stockReservationGateway;
+
+    @BeforeEach
+    void stockReserves() {
+        when(stockReservationGateway.reserve(anyString(), anyInt(), anyString()))
+                .thenReturn(new StockReserveResult(true, 100, "Stock reserved"));
+        when(stockReservationGateway.release(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void failedConfirmReleasesTheReservation() {
+        when(stockReservationGateway.confirm("confirm-fails")).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.createOrder(1L, new CreateOrderRequest("SKU-1001", 1), "confirm-fails").join())
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("stock hold could not be confirmed");
+
+        assertThat(order("confirm-fails").getStatus()).isEqualTo("REJECTED");
+        verify(stockReservationGateway, times(1)).release("confirm-fails");
+        // The key is freed, so the client may retry the same request.
+        assertThat(idempotencyKeyRepository.findById("confirm-fails")).isEmpty();
+    }
+
+    // Recovery claims the order while its stock calls are still in flight. The request's own confirm then
+    // fails, and it releases the reservation again in case recovery's release reached the stock side first.
+    @Test
+    void recoveryClaimWinsOverALateConfirm() {
+        doAnswer(invocation -> {
+            orderService.recoverStalePendingOrders();
+            assertThat(order("late-confirm").getStatus()).isEqualTo("REJECTED");
+            return true;
+        }).when(stockReservationGateway).confirm("late-confirm");
+
+        assertThatThrownBy(() -> orderService.createOrder(1L, new CreateOrderRequest("SKU-1002", 1), "late-confirm").join())
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("expired before it could be confirmed");
+
+        assertThat(order("late-confirm").getStatus()).isEqualTo("REJECTED");
+        verify(stockReservationGateway, times(2)).release("late-confirm");
+    }
+
+    @Test
+    void failedReleaseIsRetriedByRecovery() {
+        when(stockReservationGateway.confirm("release-fails")).thenReturn(false);
+        when(stockReservationGateway.release("release-fails")).thenReturn(false, true);
+
+        assertThatThrownBy(() -> orderService.createOrder(1L, new CreateOrderRequest("SKU-1003", 1), "release-fails").join())
+                .hasCauseInstanceOf(BusinessException.class);
+        assertThat(order("release-fails").getStatus()).isEqualTo("COMPENSATING");
+        assertThat(idempotencyKeyRepository.findById("release-fails")).isPresent();
+
+        orderService.recoverStalePendingOrders();
+
+        assertThat(order("release-fails").getStatus()).isEqualTo("REJECTED");
+        assertThat(idempotencyKeyRepository.findById("release-fails")).isEmpty();
+        verify(stockReservationGateway, times(2)).release("release-fails");
+    }
+
+    private OrderEntity order(String reservationKey) {
+        return orderRepository.findAll().stream()
+                .filter(order -> reservationKey.equals(order.getReservationKey()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
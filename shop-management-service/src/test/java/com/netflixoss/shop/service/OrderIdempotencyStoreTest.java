@@ -0,0 +1,145 @@
+package com.netflixoss.shop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import com.netflixoss.shop.dto.CreateOrderRequest;
+import com.netflixoss.shop.dto.OrderResponse;
+import com.netflixoss.shop.entity.IdempotencyKeyEntity;
+import com.netflixoss.shop.exception.BusinessException;
+import com.netflixoss.shop.exception.ConflictException;
+import com.netflixoss.shop.integration.StockReservationGateway;
+import com.netflixoss.shop.integration.StockReserveResult;
+import com.netflixoss.shop.repository.IdempotencyKeyRepository;
+import com.netflixoss.shop.repository.OrderRepository;
+
+// Orders sent with an Idempotency-Key: a retry of the same request is answered with the first order, the
+// key cannot be reused for a different request, and of two first uses racing each other only one order is
+// created. Stock calls always succeed.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:order-idempotency;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "shop.stock-replica.enabled=false",
+        "logging.file.name="
+})
+class OrderIdempotencyStoreTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @MockBean
+    private StockReservationGateway stockReservationGateway;
+
+    @SpyBean
+    private OrderIdempotencyStore orderIdempotencyStore;
+
+    @BeforeEach
+    void stockAlwaysReserves() {
+        when(stockReservationGateway.reserve(anyString(), anyInt(), anyString()))
+                .thenReturn(new StockReserveResult(true, 100, "Stock reserved"));
+        when(stockReservationGateway.confirm(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void sameKeyAndBodyReplaysTheFirstOrder() {
+        OrderResponse first = orderService.createOrder(1L, new CreateOrderRequest("SKU-1001", 2), "replay-key").join();
+        OrderResponse retry = orderService.createOrder(1L, new CreateOrderRequest("SKU-1001", 2), "replay-key").join();
+
+        assertThat(retry.getOrderId()).isEqualTo(first.getOrderId());
+        assertThat(retry.getStatus()).isEqualTo("CONFIRMED");
+        verify(stockReservationGateway, times(1)).reserve("SKU-1001", 2, "replay-key");
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() {
+        OrderResponse first = orderService.createOrder(1L, new CreateOrderRequest("SKU-1001", 1), "reused-key").join();
+
+        assertThatThrownBy(() -> orderService.createOrder(1L, new CreateOrderRequest("SKU-1002", 1), "reused-key"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("different order request");
+        assertThatThrownBy(() -> orderService.createOrder(2L, new CreateOrderRequest("SKU-1001", 1), "reused-key"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("different order request");
+        assertThat(idempotencyKeyRepository.findById("reused-key")).get()
+                .extracting(IdempotencyKeyEntity::getOrderId).isEqualTo(first.getOrderId());
+        verify(stockReservationGateway, times(1)).reserve(anyString(), anyInt(), anyString());
+    }
+
+    // Both requests find the key unused before either writes it, so the conflict comes from the insert of
+    // the key in persistPending, not from the replay lookup.
+    @Test
+    void concurrentFirstUsesCreateOneOrder() throws Exception {
+        CyclicBarrier bothLookedUp = new CyclicBarrier(2);
+        List<Object> lookups = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            Object replay = invocation.callRealMethod();
+            lookups.add(replay == null ? "unused" : replay);
+            bothLookedUp.await(10, TimeUnit.SECONDS);
+            return replay;
+        }).when(orderIdempotencyStore).findReplay(any(), any(), any());
+        long ordersBefore = orderRepository.count();
+
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        List<Throwable> failures = new ArrayList<>();
+        List<OrderResponse> created = new ArrayList<>();
+        try {
+            List<Future<OrderResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(clients.submit(() ->
+                        orderService.createOrder(1L, new CreateOrderRequest("SKU-1003", 1), "racing-key").join()));
+            }
+            for (Future<OrderResponse> result : results) {
+                try {
+                    created.add(result.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    failures.add(ex.getCause());
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(lookups).containsExactly("unused", "unused");
+        assertThat(created).hasSize(1);
+        assertThat(failures).singleElement()
+                .isInstanceOf(ConflictException.class)
+                .extracting(Throwable::getMessage).asString().contains("already being processed");
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        assertThat(idempotencyKeyRepository.findById("racing-key")).get()
+                .extracting(IdempotencyKeyEntity::getOrderId).isEqualTo(created.get(0).getOrderId());
+        verify(stockReservationGateway, times(1)).reserve(anyString(), anyInt(), anyString());
+    }
+}